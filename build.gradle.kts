@@ -2,6 +2,7 @@ plugins {
 	java
 	id("org.springframework.boot") version "3.5.4"
 	id("io.spring.dependency-management") version "1.1.7"
+	id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "br.outsera"
@@ -20,10 +21,17 @@ repositories {
 dependencies {
 	implementation("org.springframework.boot:spring-boot-starter-webflux")
 	implementation("org.springframework.boot:spring-boot-starter-data-r2dbc")
+	implementation("org.springframework.boot:spring-boot-starter-actuator")
 	implementation("org.springdoc:springdoc-openapi-starter-webflux-ui:2.6.0")
 	implementation("com.opencsv:opencsv:5.9")
+	implementation("io.r2dbc:r2dbc-pool")
+	implementation("org.springframework:spring-jdbc")
+	implementation("com.zaxxer:HikariCP")
 	runtimeOnly("io.r2dbc:r2dbc-h2")
 	runtimeOnly("com.h2database:h2")
+	runtimeOnly("org.postgresql:r2dbc-postgresql")
+	runtimeOnly("org.postgresql:postgresql")
+	runtimeOnly("io.micrometer:micrometer-registry-prometheus")
 
 	compileOnly("org.projectlombok:lombok")
 	annotationProcessor("org.projectlombok:lombok")
@@ -40,3 +48,28 @@ dependencies {
 tasks.withType<Test> {
 	useJUnitPlatform()
 }
+
+jmh {
+	jmhVersion = "1.37"
+	resultFormat = "JSON"
+	resultsFile = layout.buildDirectory.file("results/jmh/results-${findProperty("jmhTag") ?: "latest"}.json")
+	profilers = listOf("gc")
+	(findProperty("jmhIncludes") as String?)?.let { includes = listOf(it) }
+}
+
+// Catálogo sintético e teste de carga contra uma instância já iniciada (./gradlew bootRun)
+tasks.register<JavaExec>("generateCatalog") {
+	group = "benchmark"
+	description = "Gera um catálogo sintético no formato do movielist.csv"
+	classpath = sourceSets["jmh"].runtimeClasspath
+	mainClass = "br.outsera.movies.catalog.CatalogGenerator"
+	systemProperties(project.properties.filterKeys { it.startsWith("catalog.") })
+}
+
+tasks.register<JavaExec>("loadTest") {
+	group = "benchmark"
+	description = "Mede vazão e latência de /movie/awards-result durante a ingestão e valida os SLOs"
+	classpath = sourceSets["jmh"].runtimeClasspath
+	mainClass = "br.outsera.movies.loadtest.AwardsLoadTest"
+	systemProperties(project.properties.filterKeys { it.startsWith("catalog.") || it.startsWith("loadtest.") })
+}
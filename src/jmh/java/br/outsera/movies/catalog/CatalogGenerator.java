@@ -0,0 +1,30 @@
+package br.outsera.movies.catalog;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Writes a {@link SyntheticCatalog} to a CSV file.
+ */
+public final class CatalogGenerator {
+
+    private CatalogGenerator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        var file = Path.of(System.getProperty("catalog.file", "build/catalog/movielist.csv"));
+        int rows = Integer.getInteger("catalog.rows", 100_000);
+        long seed = Long.getLong("catalog.seed", SyntheticCatalog.SEED);
+        double winnerShare = Double.parseDouble(System.getProperty("catalog.winner-share", "0.2"));
+        double zipfExponent = Double.parseDouble(System.getProperty("catalog.zipf-exponent", "1.1"));
+        double coProducerShare = Double.parseDouble(System.getProperty("catalog.co-producer-share", "0.15"));
+
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        new SyntheticCatalog(rows, winnerShare, seed, zipfExponent, coProducerShare).writeTo(file);
+        System.out.printf("%d filmes gravados em %s (semente %d, zipf %.2f, coprodução %.2f)%n",
+            rows, file.toAbsolutePath(), seed, zipfExponent, coProducerShare);
+    }
+}
@@ -0,0 +1,145 @@
+package br.outsera.movies.catalog;
+
+import br.outsera.movies.model.MovieEntity;
+import br.outsera.movies.repository.ProducerDictionary;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic synthetic catalog shared by the benchmarks and the load test.
+ */
+public final class SyntheticCatalog {
+
+    public static final long SEED = 42;
+    public static final String HEADER = "year;title;studios;producers;winner";
+
+    private final SplittableRandom random;
+    private final int rows;
+    private final int producers;
+    private final double winnerShare;
+    private final double coProducerShare;
+    private final double[] cumulativeWeights;
+    private int generated;
+
+    public SyntheticCatalog(int rows, double winnerShare) {
+        this(rows, winnerShare, SEED, 0, 0);
+    }
+
+    public SyntheticCatalog(int rows, double winnerShare, long seed, double zipfExponent, double coProducerShare) {
+        this.random = new SplittableRandom(seed);
+        this.rows = rows;
+        this.producers = rows / 4 + 1;
+        this.winnerShare = winnerShare;
+        this.coProducerShare = coProducerShare;
+        this.cumulativeWeights = zipfExponent > 0 ? cumulativeWeights(producers, zipfExponent) : null;
+    }
+
+    public static List<MovieEntity> movies(int rows, double winnerShare) {
+        var catalog = new SyntheticCatalog(rows, winnerShare);
+        var movies = new ArrayList<MovieEntity>(rows);
+        while (catalog.hasNext()) {
+            movies.add(catalog.next());
+        }
+        return movies;
+    }
+
+    /**
+     * Writes the catalog in the {@code movielist.csv} format to a temporary file, which the caller deletes.
+     */
+    public static Path writeCsv(int rows, double winnerShare) throws IOException {
+        var file = Files.createTempFile("movielist-synthetic", ".csv");
+        new SyntheticCatalog(rows, winnerShare).writeTo(file);
+        return file;
+    }
+
+    /**
+     * Ids of the producers of {@code movie}, registering new names in order of appearance as the database would.
+     */
+    public static int[] producerIds(ProducerDictionary producerDictionary, MovieEntity movie) {
+        for (String name : producerDictionary.unknownNames(List.of(movie))) {
+            producerDictionary.register(producerDictionary.size(), name);
+        }
+        return producerDictionary.idsOf(movie.producers());
+    }
+
+    public static String toCsvLine(MovieEntity movie) {
+        return movie.years() + ";" + movie.title() + ";" + movie.studios() + ";" + movie.producers() + ";"
+            + (Boolean.TRUE.equals(movie.winner()) ? "yes" : "");
+    }
+
+    public void writeTo(Path file) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            writer.write(HEADER);
+            writer.write('\n');
+            while (hasNext()) {
+                writer.write(toCsvLine(next()));
+                writer.write('\n');
+            }
+        }
+    }
+
+    public boolean hasNext() {
+        return generated < rows;
+    }
+
+    public MovieEntity next() {
+        int index = generated++;
+        return MovieEntity.builder()
+            .years(1900 + random.nextInt(125))
+            .title("Movie " + index)
+            .studios("Studio " + random.nextInt(500))
+            .producers(nextProducers())
+            .winner(random.nextDouble() < winnerShare)
+            .build();
+    }
+
+    private String nextProducers() {
+        int first = nextProducer();
+        if (coProducerShare <= 0 || random.nextDouble() >= coProducerShare) {
+            return "Producer " + first;
+        }
+
+        int[] chosen = {first, -1, -1};
+        int count = 2 + random.nextInt(2);
+        for (int i = 1; i < count; i++) {
+            int producer = nextProducer();
+            if (producer == chosen[0] || producer == chosen[1]) {
+                count = i;
+                break;
+            }
+            chosen[i] = producer;
+        }
+
+        var names = new StringBuilder("Producer ").append(chosen[0]);
+        for (int i = 1; i < count; i++) {
+            names.append(i == count - 1 ? " and " : ", ").append("Producer ").append(chosen[i]);
+        }
+        return names.toString();
+    }
+
+    private int nextProducer() {
+        if (cumulativeWeights == null) {
+            return random.nextInt(producers);
+        }
+        double target = random.nextDouble() * cumulativeWeights[producers - 1];
+        int position = Arrays.binarySearch(cumulativeWeights, target);
+        return Math.min(producers - 1, position >= 0 ? position : -position - 1);
+    }
+
+    private static double[] cumulativeWeights(int producers, double exponent) {
+        var weights = new double[producers];
+        double total = 0;
+        for (int k = 0; k < producers; k++) {
+            total += 1 / Math.pow(k + 1, exponent);
+            weights[k] = total;
+        }
+        return weights;
+    }
+}
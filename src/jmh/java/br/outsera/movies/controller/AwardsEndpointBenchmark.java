@@ -0,0 +1,119 @@
+package br.outsera.movies.controller;
+
+import br.outsera.movies.model.ProducerWinDTO;
+import br.outsera.movies.repository.ProducerDictionary;
+import br.outsera.movies.service.AwardIntervalIndex;
+import br.outsera.movies.service.MovieMetrics;
+import br.outsera.movies.service.MovieService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.web.reactive.config.EnableWebFlux;
+import org.springframework.web.server.adapter.WebHttpHandlerBuilder;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test of {@code GET /movie/awards-result} over a real Reactor Netty server.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(16)
+@Fork(1)
+public class AwardsEndpointBenchmark {
+
+    @Param({"jackson", "pre-encoded", "pre-encoded-gzip"})
+    public String mode;
+
+    @Param({"10", "1000"})
+    public int tiedProducers;
+
+    private AnnotationConfigApplicationContext context;
+    private DisposableServer server;
+    private HttpClient client;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var producerDictionary = new ProducerDictionary();
+        var wins = new ArrayList<ProducerWinDTO>();
+        for (int i = 0; i < tiedProducers; i++) {
+            int producerId = i;
+            producerDictionary.register(producerId, "Producer " + i);
+            wins.add(new ProducerWinDTO(producerId, 1950));
+            wins.add(new ProducerWinDTO(producerId, 1990));
+            wins.add(new ProducerWinDTO(producerId, 1991));
+        }
+        var awardIntervalIndex = new AwardIntervalIndex(producerDictionary);
+        awardIntervalIndex.rebuild(wins);
+
+        var movieMetrics = new MovieMetrics(new SimpleMeterRegistry());
+        var awardsResponseCache = new AwardsResponseCache(new ObjectMapper(), movieMetrics);
+        awardsResponseCache.maxAge = Duration.ZERO;
+        awardsResponseCache.gzip = true;
+
+        context = new AnnotationConfigApplicationContext();
+        context.registerBean(MovieService.class,
+            () -> new MovieService(null, awardIntervalIndex, null, null, movieMetrics, null));
+        context.registerBean(AwardsResponseCache.class, () -> awardsResponseCache);
+        context.register(WebConfig.class, mode.equals("jackson") ? LegacyAwardsController.class : MovieController.class);
+        context.refresh();
+
+        var httpHandler = WebHttpHandlerBuilder.applicationContext(context).build();
+        server = HttpServer.create()
+            .port(0)
+            .handle(new ReactorHttpHandlerAdapter(httpHandler))
+            .bindNow();
+
+        client = HttpClient.create()
+            .port(server.port())
+            .headers(headers -> {
+                if (mode.endsWith("gzip")) {
+                    headers.set(HttpHeaders.ACCEPT_ENCODING, "gzip");
+                }
+            });
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        server.disposeNow();
+        context.close();
+    }
+
+    @Benchmark
+    public Integer awardsResult() {
+        return client.get()
+            .uri("/movie/awards-result")
+            .responseSingle((response, body) -> body.asByteArray().map(bytes -> bytes.length))
+            .block();
+    }
+
+    @Configuration
+    @EnableWebFlux
+    static class WebConfig {
+    }
+}
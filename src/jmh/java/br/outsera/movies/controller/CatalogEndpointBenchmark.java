@@ -0,0 +1,116 @@
+package br.outsera.movies.controller;
+
+import br.outsera.movies.catalog.SyntheticCatalog;
+import br.outsera.movies.model.MovieEntity;
+import br.outsera.movies.repository.ProducerDictionary;
+import br.outsera.movies.service.AwardIntervalIndex;
+import br.outsera.movies.service.MovieMetrics;
+import br.outsera.movies.service.MovieService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.web.server.adapter.WebHttpHandlerBuilder;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end WebFlux request handling over a real Reactor Netty server.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(8)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class CatalogEndpointBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    public int rows;
+
+    private AnnotationConfigApplicationContext context;
+    private DisposableServer server;
+    private HttpClient client;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var producerDictionary = new ProducerDictionary();
+        var wins = new AwardIntervalIndex.Wins();
+        var catalog = new SyntheticCatalog(rows, 0.2);
+        while (catalog.hasNext()) {
+            MovieEntity movie = catalog.next();
+            if (movie.winner()) {
+                for (int producerId : SyntheticCatalog.producerIds(producerDictionary, movie)) {
+                    wins.add(producerId, movie.years());
+                }
+            }
+        }
+        var awardIntervalIndex = new AwardIntervalIndex(producerDictionary);
+        awardIntervalIndex.rebuild(wins);
+
+        var movieMetrics = new MovieMetrics(new SimpleMeterRegistry());
+        var awardsResponseCache = new AwardsResponseCache(new ObjectMapper(), movieMetrics);
+        awardsResponseCache.maxAge = Duration.ZERO;
+        awardsResponseCache.gzip = false;
+
+        context = new AnnotationConfigApplicationContext();
+        context.registerBean(MovieService.class,
+            () -> new MovieService(null, awardIntervalIndex, null, null, movieMetrics, null));
+        context.registerBean(AwardsResponseCache.class, () -> awardsResponseCache);
+        context.register(AwardsEndpointBenchmark.WebConfig.class, MovieController.class);
+        context.refresh();
+
+        server = HttpServer.create()
+            .port(0)
+            .handle(new ReactorHttpHandlerAdapter(WebHttpHandlerBuilder.applicationContext(context).build()))
+            .bindNow();
+        client = HttpClient.create().port(server.port());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        server.disposeNow();
+        context.close();
+    }
+
+    @Benchmark
+    public Integer awardsResult() {
+        return get("/movie/awards-result");
+    }
+
+    @Benchmark
+    public Integer top() {
+        return get("/movie/awards-result/top?limit=10");
+    }
+
+    @Benchmark
+    public Integer histogram() {
+        return get("/movie/awards-result/histogram");
+    }
+
+    private Integer get(String uri) {
+        return client.get()
+            .uri(uri)
+            .responseSingle((response, body) -> body.asByteArray().map(bytes -> bytes.length))
+            .block();
+    }
+}
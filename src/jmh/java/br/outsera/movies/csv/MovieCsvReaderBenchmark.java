@@ -0,0 +1,64 @@
+package br.outsera.movies.csv;
+
+import br.outsera.movies.catalog.SyntheticCatalog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.FileSystemResource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The OpenCSV reader against {@link MappedMovieCsvReader} on the same synthetic catalog.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class MovieCsvReaderBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    public int rows;
+
+    private Path file;
+    private FileSystemResource resource;
+
+    private final OpenCsvMovieReader openCsvReader = new OpenCsvMovieReader();
+    private final MappedMovieCsvReader mappedReader = new MappedMovieCsvReader();
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        file = SyntheticCatalog.writeCsv(rows, 0.2);
+        resource = new FileSystemResource(file);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public Long openCsv() {
+        return openCsvReader.read(resource, ';').count().block();
+    }
+
+    @Benchmark
+    public Long mapped() {
+        return mappedReader.read(resource, ';').count().block();
+    }
+}
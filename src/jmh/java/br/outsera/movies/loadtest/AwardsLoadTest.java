@@ -0,0 +1,260 @@
+package br.outsera.movies.loadtest;
+
+import br.outsera.movies.catalog.SyntheticCatalog;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sustained load against an instance already running at {@code loadtest.base-url}.
+ */
+public final class AwardsLoadTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final URI baseUrl = URI.create(System.getProperty("loadtest.base-url", "http://localhost:8080"));
+    private final Duration duration = Duration.parse(System.getProperty("loadtest.duration", "PT60S"));
+    private final Duration warmup = Duration.parse(System.getProperty("loadtest.warmup", "PT10S"));
+    private final int readers = Integer.getInteger("loadtest.readers", 32);
+    private final int seedRows = Integer.getInteger("loadtest.seed-rows", 100_000);
+    private final int ingestionBatchSize = Integer.getInteger("loadtest.ingestion.batch-size", 1_000);
+    private final Duration ingestionInterval = Duration.parse(System.getProperty("loadtest.ingestion.interval", "PT1S"));
+    private final Duration sloP50 = Duration.parse(System.getProperty("loadtest.slo.p50", "PT0.01S"));
+    private final Duration sloP99 = Duration.parse(System.getProperty("loadtest.slo.p99", "PT0.05S"));
+    private final double sloMinThroughput = Double.parseDouble(System.getProperty("loadtest.slo.min-throughput", "500"));
+    private final double sloMaxErrorRate = Double.parseDouble(System.getProperty("loadtest.slo.max-error-rate", "0.001"));
+    private final Path report = Path.of(System.getProperty("loadtest.report", "build/results/loadtest/report.json"));
+
+    private final long catalogSeed = Long.getLong("catalog.seed", SyntheticCatalog.SEED);
+    private final double winnerShare = Double.parseDouble(System.getProperty("catalog.winner-share", "0.2"));
+    private final double zipfExponent = Double.parseDouble(System.getProperty("catalog.zipf-exponent", "1.1"));
+    private final double coProducerShare = Double.parseDouble(System.getProperty("catalog.co-producer-share", "0.15"));
+
+    private final HttpClient client = HttpClient.newBuilder()
+        .executor(Executors.newVirtualThreadPerTaskExecutor())
+        .connectTimeout(Duration.ofSeconds(5))
+        .build();
+
+    public static void main(String[] args) throws Exception {
+        System.exit(new AwardsLoadTest().run() ? 0 : 1);
+    }
+
+    boolean run() throws Exception {
+        loadInitialCatalog();
+
+        long startedAt = System.nanoTime();
+        long measuredFrom = startedAt + warmup.toNanos();
+        long deadline = measuredFrom + duration.toNanos();
+
+        List<Future<Latencies>> readerResults = new ArrayList<>();
+        Future<Latencies> ingestionResult;
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < readers; i++) {
+                readerResults.add(executor.submit(() -> read(measuredFrom, deadline)));
+            }
+            ingestionResult = executor.submit(() -> ingest(measuredFrom, deadline));
+        }
+
+        var awards = new Latencies();
+        for (Future<Latencies> result : readerResults) {
+            awards.addAll(result.get());
+        }
+        return evaluate(awards, ingestionResult.get());
+    }
+
+    private void loadInitialCatalog() throws IOException, InterruptedException {
+        if (seedRows <= 0) {
+            return;
+        }
+
+        var file = Files.createTempFile("movielist-loadtest", ".csv");
+        try {
+            new SyntheticCatalog(seedRows, winnerShare, catalogSeed, zipfExponent, coProducerShare).writeTo(file);
+            var response = client.send(HttpRequest.newBuilder(baseUrl.resolve("/movie/bulk?separator=;"))
+                    .header("Content-Type", "text/csv")
+                    .POST(HttpRequest.BodyPublishers.ofFile(file))
+                    .build(),
+                HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() / 100 != 2) {
+                throw new IllegalStateException("Falha ao carregar o catálogo inicial: HTTP " + response.statusCode());
+            }
+            System.out.printf("Catálogo inicial carregado: %s%n", response.body());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private Latencies read(long measuredFrom, long deadline) {
+        var latencies = new Latencies();
+        var request = HttpRequest.newBuilder(baseUrl.resolve("/movie/awards-result")).GET().build();
+        long now;
+        while ((now = System.nanoTime()) < deadline) {
+            boolean ok;
+            try {
+                ok = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+            } catch (IOException e) {
+                ok = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (now >= measuredFrom) {
+                latencies.record(System.nanoTime() - now, ok);
+            }
+        }
+        return latencies;
+    }
+
+    private Latencies ingest(long measuredFrom, long deadline) throws InterruptedException {
+        var latencies = new Latencies();
+        var catalog = new SyntheticCatalog(Integer.MAX_VALUE, winnerShare, catalogSeed + 1, zipfExponent, coProducerShare);
+        long next = System.nanoTime();
+        while (next < deadline) {
+            var body = new StringBuilder();
+            for (int i = 0; i < ingestionBatchSize; i++) {
+                try {
+                    body.append(OBJECT_MAPPER.writeValueAsString(catalog.next())).append('\n');
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+
+            long startedAt = System.nanoTime();
+            boolean ok;
+            try {
+                ok = client.send(HttpRequest.newBuilder(baseUrl.resolve("/movie/bulk"))
+                        .header("Content-Type", "application/x-ndjson")
+                        .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                        .build(),
+                    HttpResponse.BodyHandlers.discarding()).statusCode() / 100 == 2;
+            } catch (IOException e) {
+                ok = false;
+            }
+            if (startedAt >= measuredFrom) {
+                latencies.record(System.nanoTime() - startedAt, ok);
+            }
+
+            next += ingestionInterval.toNanos();
+            long sleep = next - System.nanoTime();
+            if (sleep > 0) {
+                TimeUnit.NANOSECONDS.sleep(Math.min(sleep, Math.max(0, deadline - System.nanoTime())));
+            }
+        }
+        return latencies;
+    }
+
+    private boolean evaluate(Latencies awards, Latencies ingestion) throws IOException {
+        awards.sort();
+        ingestion.sort();
+        double seconds = duration.toNanos() / 1e9;
+        double throughput = awards.successes() / seconds;
+        double errorRate = awards.count() == 0 ? 1 : (double) awards.errors / awards.count();
+        var p50 = Duration.ofNanos(awards.percentile(0.50));
+        var p99 = Duration.ofNanos(awards.percentile(0.99));
+
+        var checks = new LinkedHashMap<String, Boolean>();
+        checks.put("p50 <= " + sloP50.toMillis() + " ms", p50.compareTo(sloP50) <= 0);
+        checks.put("p99 <= " + sloP99.toMillis() + " ms", p99.compareTo(sloP99) <= 0);
+        checks.put("vazão >= " + sloMinThroughput + " req/s", throughput >= sloMinThroughput);
+        checks.put("taxa de erro <= " + sloMaxErrorRate, errorRate <= sloMaxErrorRate);
+        checks.put("ingestão sem falhas", ingestion.errors == 0);
+
+        System.out.printf("GET /movie/awards-result: %d requisições, %.1f req/s, erros %.4f%%%n",
+            awards.count(), throughput, errorRate * 100);
+        System.out.printf("  latência p50 %.2f ms, p90 %.2f ms, p99 %.2f ms, p99.9 %.2f ms, máx %.2f ms%n",
+            millis(awards.percentile(0.50)), millis(awards.percentile(0.90)), millis(awards.percentile(0.99)),
+            millis(awards.percentile(0.999)), millis(awards.percentile(1)));
+        System.out.printf("POST /movie/bulk: %d lotes de %d filmes, p99 %.2f ms, %d falhas%n",
+            ingestion.count(), ingestionBatchSize, millis(ingestion.percentile(0.99)), ingestion.errors);
+        checks.forEach((slo, met) -> System.out.printf("  [%s] %s%n", met ? "OK" : "FALHOU", slo));
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requests", awards.count());
+        summary.put("throughput", throughput);
+        summary.put("errorRate", errorRate);
+        summary.put("p50Millis", millis(awards.percentile(0.50)));
+        summary.put("p90Millis", millis(awards.percentile(0.90)));
+        summary.put("p99Millis", millis(awards.percentile(0.99)));
+        summary.put("maxMillis", millis(awards.percentile(1)));
+        summary.put("ingestionBatches", ingestion.count());
+        summary.put("ingestionErrors", ingestion.errors);
+        summary.put("slo", checks);
+        if (report.getParent() != null) {
+            Files.createDirectories(report.getParent());
+        }
+        OBJECT_MAPPER.writerWithDefaultPrettyPrinter().writeValue(report.toFile(), summary);
+
+        return !checks.containsValue(false);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    /**
+     * Latencies of one thread, in nanoseconds.
+     */
+    static final class Latencies {
+
+        private long[] values = new long[1024];
+        private int size;
+        private long errors;
+
+        void record(long nanos, boolean ok) {
+            if (!ok) {
+                errors++;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size << 1);
+            }
+            values[size++] = nanos;
+        }
+
+        void addAll(Latencies other) {
+            if (size + other.size > values.length) {
+                values = Arrays.copyOf(values, Math.max(values.length << 1, size + other.size));
+            }
+            System.arraycopy(other.values, 0, values, size, other.size);
+            size += other.size;
+            errors += other.errors;
+        }
+
+        int count() {
+            return size;
+        }
+
+        long successes() {
+            return size - errors;
+        }
+
+        void sort() {
+            Arrays.sort(values, 0, size);
+        }
+
+        /**
+         * Nearest-rank percentile; {@link #sort()} must have been called.
+         */
+        long percentile(double quantile) {
+            if (size == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(quantile * size) - 1;
+            return values[Math.max(0, Math.min(size - 1, index))];
+        }
+    }
+}
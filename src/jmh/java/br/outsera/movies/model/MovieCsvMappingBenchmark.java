@@ -0,0 +1,53 @@
+package br.outsera.movies.model;
+
+import br.outsera.movies.catalog.SyntheticCatalog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link MovieCsv#toEntity()} alone, on beans already bound by OpenCSV.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class MovieCsvMappingBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    public int rows;
+
+    private MovieCsv[] beans;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var catalog = new SyntheticCatalog(rows, 0.2);
+        beans = new MovieCsv[rows];
+        for (int i = 0; i < rows; i++) {
+            var movie = catalog.next();
+            beans[i] = new MovieCsv(movie.years(), movie.title(), movie.studios(), movie.producers(),
+                Boolean.TRUE.equals(movie.winner()) ? "yes" : "");
+        }
+    }
+
+    @Benchmark
+    public void toEntity(Blackhole blackhole) {
+        for (MovieCsv bean : beans) {
+            blackhole.consume(bean.toEntity());
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package br.outsera.movies.repository;
+
+import br.outsera.movies.model.MovieEntity;
+import br.outsera.movies.model.ProducerWinDTO;
+import io.r2dbc.spi.ConnectionFactories;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Awards query latency on the previous schema against the current one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class MovieQueryBenchmark {
+
+    private static final String LEGACY_SCHEMA = """
+        CREATE TABLE MOVIE (
+            id IDENTITY PRIMARY KEY,
+            years VARCHAR(255),
+            title VARCHAR(255),
+            studios VARCHAR(255),
+            producers VARCHAR(255),
+            winner BOOLEAN
+        )
+        """;
+
+    private static final String[] CURRENT_SCHEMA = {
+        """
+        CREATE TABLE MOVIE (
+            id IDENTITY PRIMARY KEY,
+            years INT NOT NULL,
+            title VARCHAR(255),
+            studios VARCHAR(255),
+            producers VARCHAR(255),
+            winner BOOLEAN NOT NULL DEFAULT FALSE
+        )
+        """,
+        "CREATE INDEX IDX_MOVIE_WINNER_YEARS ON MOVIE (winner, years)",
+        "CREATE TABLE PRODUCER (id INT PRIMARY KEY, name VARCHAR(255) NOT NULL UNIQUE)",
+        """
+        CREATE TABLE MOVIE_PRODUCER (
+            movie_id BIGINT NOT NULL,
+            producer_id INT NOT NULL,
+            PRIMARY KEY (movie_id, producer_id)
+        )
+        """,
+        "CREATE INDEX IDX_MOVIE_PRODUCER_PRODUCER ON MOVIE_PRODUCER (producer_id, movie_id)"
+    };
+
+    private static final String[] CURRENT_LINKS = {
+        """
+        INSERT INTO PRODUCER (id, name)
+        SELECT ROW_NUMBER() OVER (ORDER BY producers) - 1, producers
+        FROM (SELECT DISTINCT producers FROM MOVIE)
+        """,
+        """
+        INSERT INTO MOVIE_PRODUCER (movie_id, producer_id)
+        SELECT m.id, p.id FROM MOVIE m JOIN PRODUCER p ON p.name = m.producers
+        """
+    };
+
+    private static final String INSERT_MOVIE = """
+        INSERT INTO MOVIE (years, title, studios, producers, winner)
+        VALUES ($1, $2, $3, $4, $5)
+        """;
+
+    @Param({"1000000", "5000000"})
+    public int rows;
+
+    private DatabaseClient legacy;
+    private DatabaseClient current;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        legacy = createDatabase("movies_legacy", LEGACY_SCHEMA);
+        current = createDatabase("movies_current", CURRENT_SCHEMA);
+        for (String statement : CURRENT_LINKS) {
+            current.sql(statement).then().block();
+        }
+    }
+
+    private DatabaseClient createDatabase(String name, String... schema) {
+        var client = DatabaseClient.create(
+            ConnectionFactories.get("r2dbc:h2:mem:///" + name + "?options=DB_CLOSE_DELAY=-1"));
+        for (String statement : schema) {
+            client.sql(statement).then().block();
+        }
+
+        var random = new SplittableRandom(42);
+        Flux.range(0, rows)
+            .buffer(5_000)
+            .concatMap(batch -> client.inConnectionMany(connection -> {
+                var statement = connection.createStatement(INSERT_MOVIE);
+                for (int i = 0; i < batch.size(); i++) {
+                    if (i > 0) {
+                        statement.add();
+                    }
+                    int row = batch.get(i);
+                    statement.bind(0, 1900 + random.nextInt(125))
+                        .bind(1, "Movie " + row)
+                        .bind(2, "Studio " + random.nextInt(500))
+                        .bind(3, "Producer " + random.nextInt(rows / 4 + 1))
+                        .bind(4, random.nextInt(5) == 0);
+                }
+                return Flux.from(statement.execute())
+                    .flatMap(result -> result.getRowsUpdated());
+            }))
+            .blockLast();
+        return client;
+    }
+
+    @Benchmark
+    public Long legacySelectAll() {
+        return legacy.sql("SELECT * FROM MOVIE WHERE winner = TRUE ORDER BY years")
+            .map(row -> MovieEntity.builder()
+                .id(row.get("id", Long.class))
+                .years(Integer.parseInt(row.get("years", String.class)))
+                .title(row.get("title", String.class))
+                .studios(row.get("studios", String.class))
+                .producers(row.get("producers", String.class))
+                .winner(row.get("winner", Boolean.class))
+                .build())
+            .all()
+            .count()
+            .block();
+    }
+
+    @Benchmark
+    public Long projection() {
+        return current.sql("""
+                SELECT mp.producer_id, m.years FROM MOVIE m
+                JOIN MOVIE_PRODUCER mp ON mp.movie_id = m.id
+                WHERE m.winner = TRUE
+                ORDER BY m.years
+                """)
+            .map(row -> new ProducerWinDTO(row.get("producer_id", Integer.class), row.get("years", Integer.class)))
+            .all()
+            .count()
+            .block();
+    }
+}
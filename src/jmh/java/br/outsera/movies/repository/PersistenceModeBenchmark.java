@@ -0,0 +1,130 @@
+package br.outsera.movies.repository;
+
+import br.outsera.movies.catalog.SyntheticCatalog;
+import br.outsera.movies.model.AwardIntervalExtremeDTO;
+import br.outsera.movies.model.MovieEntity;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.r2dbc.spi.ConnectionFactories;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * The R2DBC batch repository against {@link JdbcMovieRepository} on the same H2 schema.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class PersistenceModeBenchmark {
+
+    private static final int BATCH_SIZE = 1_000;
+    private static final int INGESTION_THREADS = 4;
+    private static final int QUERY_THREADS = 16;
+    private static final int POOL_SIZE = 16;
+
+    @Param({"r2dbc", "jdbc"})
+    public String mode;
+
+    @Param({"100000", "1000000"})
+    public int rows;
+
+    private MovieBatchRepository repository;
+    private Supplier<Flux<AwardIntervalExtremeDTO>> awardsQuery;
+    private HikariDataSource dataSource;
+    private JdbcMovieRepository jdbcRepository;
+    private List<MovieEntity> batch;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, SQLException {
+        var schema = Arrays.stream(new ClassPathResource("schema.sql").getContentAsString(StandardCharsets.UTF_8)
+                .split(";"))
+            .filter(statement -> !statement.isBlank())
+            .toList();
+        var producerDictionary = new ProducerDictionary();
+
+        if (mode.equals("jdbc")) {
+            var config = new HikariConfig();
+            config.setJdbcUrl("jdbc:h2:mem:movies_persistence;DB_CLOSE_DELAY=-1");
+            config.setMaximumPoolSize(POOL_SIZE);
+            dataSource = new HikariDataSource(config);
+            try (var connection = dataSource.getConnection(); var statement = connection.createStatement()) {
+                for (String sql : schema) {
+                    statement.execute(sql);
+                }
+            }
+            jdbcRepository = new JdbcMovieRepository(dataSource, producerDictionary);
+            repository = jdbcRepository;
+            awardsQuery = jdbcRepository::getAwardIntervalExtremes;
+        } else {
+            var client = DatabaseClient.create(ConnectionFactories.get(
+                "r2dbc:pool:h2:mem:///movies_persistence?maxSize=" + POOL_SIZE + "&options=DB_CLOSE_DELAY=-1"));
+            for (String sql : schema) {
+                client.sql(sql).then().block();
+            }
+            repository = new MovieBatchRepositoryImpl(client, producerDictionary);
+            awardsQuery = () -> client.sql(MovieQueries.AWARD_INTERVAL_EXTREMES)
+                .map(row -> new AwardIntervalExtremeDTO(
+                    row.get("kind", String.class),
+                    row.get("producers", String.class),
+                    row.get("previous_win", Integer.class),
+                    row.get("following_win", Integer.class)))
+                .all();
+        }
+
+        Flux.fromIterable(SyntheticCatalog.movies(rows, 0.2))
+            .buffer(BATCH_SIZE)
+            .flatMap(repository::insertBatch, INGESTION_THREADS)
+            .blockLast();
+        batch = SyntheticCatalog.movies(BATCH_SIZE, 0.2);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (jdbcRepository != null) {
+            jdbcRepository.close();
+            dataSource.close();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @OperationsPerInvocation(BATCH_SIZE)
+    @Threads(INGESTION_THREADS)
+    public List<MovieEntity> ingest() {
+        return repository.insertBatch(batch).block();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Threads(QUERY_THREADS)
+    public List<AwardIntervalExtremeDTO> awardsQuery() {
+        return awardsQuery.get().collectList().block();
+    }
+}
@@ -0,0 +1,84 @@
+package br.outsera.movies.service;
+
+import br.outsera.movies.catalog.SyntheticCatalog;
+import br.outsera.movies.model.MovieAwardsResultResponseDTO;
+import br.outsera.movies.model.ProducerWinDTO;
+import br.outsera.movies.repository.MovieRepository;
+import br.outsera.movies.repository.ProducerDictionary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Flux;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The single-pass rebuild of {@link AwardIntervalIndex}; the baseline is in {@link LegacyAwardIntervalBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class AwardIntervalBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    public int winners;
+
+    private AwardIntervalIndex.Wins wins;
+    private ProducerWinDTO[] winRows;
+    private ProducerDictionary producerDictionary;
+    private MovieRepository repository;
+    private MovieMetrics movieMetrics;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var movies = SyntheticCatalog.movies(winners, 1.0);
+        producerDictionary = new ProducerDictionary();
+        wins = new AwardIntervalIndex.Wins();
+        winRows = new ProducerWinDTO[movies.size()];
+        for (int i = 0; i < winRows.length; i++) {
+            var movie = movies.get(i);
+            winRows[i] = new ProducerWinDTO(SyntheticCatalog.producerIds(producerDictionary, movie)[0], movie.years());
+            wins.add(winRows[i]);
+        }
+        repository = (MovieRepository) Proxy.newProxyInstance(MovieRepository.class.getClassLoader(),
+            new Class<?>[]{MovieRepository.class}, (proxy, method, args) -> {
+                if (method.getName().equals("getMovieAwardsResult")) {
+                    return Flux.fromArray(winRows);
+                }
+                throw new UnsupportedOperationException(method.getName());
+            });
+        movieMetrics = new MovieMetrics(new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public MovieAwardsResultResponseDTO intervalIndex() {
+        var index = new AwardIntervalIndex(producerDictionary);
+        index.rebuild(wins);
+        return index.getResult();
+    }
+
+    /**
+     * The whole {@link MovieService#getMovieAwardsResult()} pipeline on a cold index.
+     */
+    @Benchmark
+    public MovieAwardsResultResponseDTO servicePipeline() {
+        var index = new AwardIntervalIndex(producerDictionary);
+        return new MovieService(repository, index, null, null, movieMetrics, null)
+            .getMovieAwardsResult()
+            .block();
+    }
+}
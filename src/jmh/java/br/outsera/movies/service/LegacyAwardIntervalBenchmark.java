@@ -0,0 +1,47 @@
+package br.outsera.movies.service;
+
+import br.outsera.movies.catalog.SyntheticCatalog;
+import br.outsera.movies.model.MovieAwardsResultResponseDTO;
+import br.outsera.movies.model.MovieEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The baseline groupingBy/filter pipeline, capped at 10^5 winners as its min/max selection is quadratic.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class LegacyAwardIntervalBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int winners;
+
+    private List<MovieEntity> movies;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        movies = SyntheticCatalog.movies(winners, 1.0);
+    }
+
+    @Benchmark
+    public MovieAwardsResultResponseDTO legacy() {
+        return LegacyAwardIntervalCalculator.calculate(movies);
+    }
+}
@@ -0,0 +1,75 @@
+package br.outsera.movies.service;
+
+import br.outsera.movies.model.MovieAwardsResultDTO;
+import br.outsera.movies.model.MovieAwardsResultResponseDTO;
+import br.outsera.movies.model.MovieEntity;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+final class LegacyAwardIntervalCalculator {
+
+    private LegacyAwardIntervalCalculator() {
+    }
+
+    static MovieAwardsResultResponseDTO calculate(List<MovieEntity> winners) {
+        var movieEntity = winners.stream()
+            .collect(Collectors.groupingBy(MovieEntity::producers))
+            .entrySet().stream()
+            .filter(entry -> entry.getValue().size() > 1)
+            .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+
+        return MovieAwardsResultResponseDTO.builder()
+            .min(getMinIntervalResult(calculateIntervals(movieEntity)))
+            .max(getMaxIntervalResult(calculateIntervals(movieEntity)))
+            .build();
+    }
+
+    private static List<MovieAwardsResultDTO> calculateIntervals(Map<String, List<MovieEntity>> movieEntity) {
+        return movieEntity.values().stream()
+            .flatMap(movieEntities ->
+            {
+                var sortedMovies = movieEntities.stream()
+                    .sorted(Comparator.comparingInt(MovieEntity::years))
+                    .toList();
+
+                return IntStream.range(1, sortedMovies.size())
+                    .mapToObj(movieIndex -> {
+                        var previousMovie = sortedMovies.get(movieIndex - 1);
+                        var currentMovie = sortedMovies.get(movieIndex);
+                        int interval = currentMovie.years() - previousMovie.years();
+                        return MovieAwardsResultDTO.builder()
+                            .producers(currentMovie.producers())
+                            .previousWin(previousMovie.years())
+                            .followingWin(currentMovie.years())
+                            .interval(interval)
+                            .build();
+                    });
+
+            })
+            .toList();
+    }
+
+    private static List<MovieAwardsResultDTO> getMaxIntervalResult(List<MovieAwardsResultDTO> movieAwardResults) {
+        return movieAwardResults.stream()
+            .filter(movieAwardResult -> movieAwardResults.stream()
+                .max(Comparator.comparingInt(MovieAwardsResultDTO::interval)).stream()
+                .findAny()
+                .orElse(MovieAwardsResultDTO.builder().build()).interval()
+                .equals(movieAwardResult.interval()))
+            .toList();
+    }
+
+    private static List<MovieAwardsResultDTO> getMinIntervalResult(List<MovieAwardsResultDTO> movieAwardResults) {
+        return movieAwardResults.stream()
+            .filter(movieAwardResult -> movieAwardResults.stream()
+                .min(Comparator.comparingInt(MovieAwardsResultDTO::interval)).stream()
+                .findAny()
+                .orElse(MovieAwardsResultDTO.builder().build()).interval()
+                .equals(movieAwardResult.interval()))
+            .toList();
+    }
+}
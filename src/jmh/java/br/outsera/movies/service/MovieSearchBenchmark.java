@@ -0,0 +1,179 @@
+package br.outsera.movies.service;
+
+import br.outsera.movies.catalog.SyntheticCatalog;
+import br.outsera.movies.model.MovieEntity;
+import br.outsera.movies.repository.ProducerDictionary;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.Readable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Movie search through {@link MovieSearchIndex} against {@code LIKE} scans.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class MovieSearchBenchmark {
+
+    private static final int LIMIT = 100;
+
+    private static final String[] SCHEMA = {
+        "DROP TABLE IF EXISTS MOVIE",
+        """
+        CREATE TABLE MOVIE (
+            id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+            years INT NOT NULL,
+            title VARCHAR(255),
+            studios VARCHAR(255),
+            producers VARCHAR(255),
+            winner BOOLEAN NOT NULL DEFAULT FALSE
+        )
+        """,
+        "CREATE INDEX IDX_MOVIE_WINNER_YEARS ON MOVIE (winner, years)"
+    };
+
+    private static final String INSERT_MOVIE = """
+        INSERT INTO MOVIE (years, title, studios, producers, winner)
+        VALUES ($1, $2, $3, $4, $5)
+        """;
+
+    @Param({"100000", "1000000"})
+    public int rows;
+
+    @Param({"title", "studio", "producer", "year"})
+    public String filter;
+
+    private DatabaseClient client;
+    private MovieSearchIndex index;
+    private MovieSearchQuery query;
+    private String where;
+    private Map<String, Object> parameters;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        client = DatabaseClient.create(
+            ConnectionFactories.get("r2dbc:h2:mem:///movies_search?options=DB_CLOSE_DELAY=-1"));
+        for (String statement : SCHEMA) {
+            client.sql(statement).then().block();
+        }
+
+        var movies = SyntheticCatalog.movies(rows, 0.2);
+        Flux.fromIterable(movies)
+            .buffer(5_000)
+            .concatMap(batch -> client.inConnectionMany(connection -> {
+                var statement = connection.createStatement(INSERT_MOVIE);
+                for (int i = 0; i < batch.size(); i++) {
+                    if (i > 0) {
+                        statement.add();
+                    }
+                    var movie = batch.get(i);
+                    statement.bind(0, movie.years())
+                        .bind(1, movie.title())
+                        .bind(2, movie.studios())
+                        .bind(3, movie.producers())
+                        .bind(4, movie.winner());
+                }
+                return Flux.from(statement.execute())
+                    .flatMap(result -> result.getRowsUpdated());
+            }))
+            .blockLast();
+
+        var producerDictionary = new ProducerDictionary();
+        index = new MovieSearchIndex(producerDictionary);
+        var indexed = new ArrayList<MovieEntity>(movies.size());
+        for (int i = 0; i < movies.size(); i++) {
+            var movie = movies.get(i);
+            SyntheticCatalog.producerIds(producerDictionary, movie);
+            indexed.add(MovieEntity.builder()
+                .id(i + 1L)
+                .years(movie.years())
+                .title(movie.title())
+                .studios(movie.studios())
+                .producers(movie.producers())
+                .winner(movie.winner())
+                .build());
+        }
+        index.addAll(indexed);
+
+        String title = String.valueOf(rows / 2);
+        switch (filter) {
+            case "title" -> {
+                query = MovieSearchQuery.builder().title(title).build();
+                where = "LOWER(title) LIKE :pattern";
+                parameters = Map.of("pattern", "%" + title + "%");
+            }
+            case "studio" -> {
+                query = MovieSearchQuery.builder().studio("Studio 42").build();
+                where = "LOWER(studios) LIKE :pattern";
+                parameters = Map.of("pattern", "%studio 42%");
+            }
+            case "producer" -> {
+                query = MovieSearchQuery.builder().producer("Producer 7").winner(true).build();
+                where = "producers LIKE :pattern AND winner = TRUE";
+                parameters = Map.of("pattern", "%Producer 7%");
+            }
+            default -> {
+                query = MovieSearchQuery.builder().year(1990).winner(true).build();
+                where = "years = :year AND winner = TRUE";
+                parameters = Map.of("year", 1990);
+            }
+        }
+    }
+
+    @Benchmark
+    public List<MovieEntity> sql() {
+        return client.sql("SELECT * FROM MOVIE WHERE " + where + " ORDER BY id LIMIT " + LIMIT)
+            .bindValues(parameters)
+            .map(MovieSearchBenchmark::toMovie)
+            .all()
+            .collectList()
+            .block();
+    }
+
+    @Benchmark
+    public List<MovieEntity> index() {
+        var movieIds = index.search(query, LIMIT);
+        if (movieIds.length == 0) {
+            return List.of();
+        }
+        return client.sql("SELECT * FROM MOVIE WHERE id IN (:ids) ORDER BY id")
+            .bind("ids", Arrays.stream(movieIds).mapToObj(Long::valueOf).toList())
+            .map(MovieSearchBenchmark::toMovie)
+            .all()
+            .collectList()
+            .block();
+    }
+
+    private static MovieEntity toMovie(Readable row) {
+        return MovieEntity.builder()
+            .id(row.get("id", Long.class))
+            .years(row.get("years", Integer.class))
+            .title(row.get("title", String.class))
+            .studios(row.get("studios", String.class))
+            .producers(row.get("producers", String.class))
+            .winner(row.get("winner", Boolean.class))
+            .build();
+    }
+}
@@ -0,0 +1,72 @@
+package br.outsera.movies.service;
+
+import br.outsera.movies.catalog.SyntheticCatalog;
+import br.outsera.movies.model.MovieAwardsResultResponseDTO;
+import br.outsera.movies.repository.ProducerDictionary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scaling of the sharded {@link AwardIntervalIndex#rebuild(AwardIntervalIndex.Wins)} with the worker count.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class ShardedRebuildBenchmark {
+
+    @Param({"1", "2", "4", "8", "16"})
+    public int threads;
+
+    @Param({"1000000", "10000000"})
+    public int winners;
+
+    private ForkJoinPool pool;
+    private ProducerDictionary producerDictionary;
+    private AwardIntervalIndex.Wins wins;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        pool = new ForkJoinPool(threads);
+        producerDictionary = new ProducerDictionary();
+        wins = new AwardIntervalIndex.Wins();
+        var catalog = new SyntheticCatalog(winners, 1.0, SyntheticCatalog.SEED, 1.1, 0.15);
+        while (catalog.hasNext()) {
+            var movie = catalog.next();
+            for (int producerId : SyntheticCatalog.producerIds(producerDictionary, movie)) {
+                wins.add(producerId, movie.years());
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public MovieAwardsResultResponseDTO rebuild() throws ExecutionException, InterruptedException {
+        return pool.submit(() -> {
+            var index = new AwardIntervalIndex(producerDictionary);
+            index.rebuild(wins);
+            return index.getResult();
+        }).get();
+    }
+}
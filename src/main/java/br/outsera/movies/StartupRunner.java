@@ -1,5 +1,8 @@
 package br.outsera.movies;
 
+import br.outsera.movies.service.CatalogFileWatcher;
+import br.outsera.movies.service.CatalogLoadTracker;
+import br.outsera.movies.service.CatalogRegistry;
 import br.outsera.movies.service.MovieService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.ApplicationArguments;
@@ -11,10 +14,15 @@ import org.springframework.stereotype.Component;
 public class StartupRunner implements ApplicationRunner {
 
     private final MovieService movieService;
+    private final CatalogLoadTracker catalogLoadTracker;
+    private final CatalogFileWatcher catalogFileWatcher;
+    private final CatalogRegistry catalogRegistry;
 
     @Override
     public void run(ApplicationArguments args) throws Exception {
-        movieService.initDB()
+        catalogLoadTracker.track(movieService.initDB())
+            .thenMany(catalogFileWatcher.watch())
             .subscribe();
+        catalogRegistry.loadAll().subscribe();
     }
 }
\ No newline at end of file
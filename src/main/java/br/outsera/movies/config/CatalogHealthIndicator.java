@@ -0,0 +1,33 @@
+package br.outsera.movies.config;
+
+import br.outsera.movies.service.CatalogLoadTracker;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class CatalogHealthIndicator implements HealthIndicator {
+
+    private final CatalogLoadTracker catalogLoadTracker;
+
+    @Override
+    public Health health() {
+        var builder = switch (catalogLoadTracker.getPhase()) {
+            case READY -> Health.up();
+            case FAILED -> Health.down().withException(catalogLoadTracker.getFailure());
+            case PENDING, LOADING -> Health.outOfService();
+        };
+
+        builder.withDetail("phase", catalogLoadTracker.getPhase());
+        if (catalogLoadTracker.getStartedAt() != null) {
+            builder.withDetail("startedAt", catalogLoadTracker.getStartedAt().toString());
+        }
+        if (catalogLoadTracker.getLoadDuration() != null) {
+            builder.withDetail("loadDurationMillis", catalogLoadTracker.getLoadDuration().toMillis());
+            builder.withDetail("loadedRows", catalogLoadTracker.getLoadedRows());
+        }
+        return builder.build();
+    }
+}
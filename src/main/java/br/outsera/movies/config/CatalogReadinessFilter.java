@@ -0,0 +1,59 @@
+package br.outsera.movies.config;
+
+import br.outsera.movies.service.CatalogLoadTracker;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+@Component
+@RequiredArgsConstructor
+public class CatalogReadinessFilter implements WebFilter {
+
+    public enum Gate {
+        WAIT,
+        REJECT
+    }
+
+    private static final String GATED_PATH = "/movie";
+
+    @Value("${api.startup.gate}")
+    public Gate gate;
+    @Value("${api.startup.wait-timeout}")
+    public Duration waitTimeout;
+    @Value("${api.startup.retry-after}")
+    public Duration retryAfter;
+
+    private final CatalogLoadTracker catalogLoadTracker;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (catalogLoadTracker.isReady() || !exchange.getRequest().getPath().value().startsWith(GATED_PATH)) {
+            return chain.filter(exchange);
+        }
+
+        if (gate == Gate.REJECT) {
+            return serviceUnavailable(exchange);
+        }
+
+        return catalogLoadTracker.awaitReady()
+            .timeout(waitTimeout)
+            .thenReturn(true)
+            .onErrorReturn(false)
+            .flatMap(ready -> ready ? chain.filter(exchange) : serviceUnavailable(exchange));
+    }
+
+    private Mono<Void> serviceUnavailable(ServerWebExchange exchange) {
+        var response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, retryAfter.toSeconds())));
+        return response.setComplete();
+    }
+}
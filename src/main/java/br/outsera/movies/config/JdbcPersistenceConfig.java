@@ -0,0 +1,40 @@
+package br.outsera.movies.config;
+
+import br.outsera.movies.repository.JdbcMovieRepository;
+import br.outsera.movies.repository.ProducerDictionary;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Persistence on blocking JDBC, with {@code api.persistence.mode: jdbc}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "api.persistence.mode", havingValue = "jdbc")
+public class JdbcPersistenceConfig {
+
+    @Bean
+    public HikariDataSource jdbcDataSource(@Value("${api.persistence.jdbc.url}") String url,
+                                           @Value("${api.persistence.jdbc.username}") String username,
+                                           @Value("${api.persistence.jdbc.password}") String password,
+                                           @Value("${api.persistence.jdbc.pool-size}") int poolSize) {
+        var config = new HikariConfig();
+        config.setPoolName("movies-jdbc");
+        config.setJdbcUrl(url);
+        config.setUsername(username);
+        config.setPassword(password);
+        config.setMaximumPoolSize(poolSize);
+        return new HikariDataSource(config);
+    }
+
+    @Bean
+    @Primary
+    public JdbcMovieRepository jdbcMovieRepository(HikariDataSource jdbcDataSource,
+                                                   ProducerDictionary producerDictionary) {
+        return new JdbcMovieRepository(jdbcDataSource, producerDictionary);
+    }
+}
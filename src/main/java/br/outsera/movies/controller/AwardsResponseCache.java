@@ -0,0 +1,130 @@
+package br.outsera.movies.controller;
+
+import br.outsera.movies.service.AwardIntervalIndex;
+import br.outsera.movies.service.MovieMetrics;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The awards response encoded for the current catalog version.
+ */
+@Component
+@RequiredArgsConstructor
+public class AwardsResponseCache {
+
+    static final String GZIP = "gzip";
+
+    @Value("${api.awards-cache.max-age}")
+    public Duration maxAge;
+    @Value("${api.awards-cache.gzip}")
+    public Boolean gzip;
+
+    private final ObjectMapper objectMapper;
+    private final MovieMetrics movieMetrics;
+
+    private volatile Encoded encoded;
+
+    public Encoded encode(AwardIntervalIndex.Published published) {
+        var current = encoded;
+        if (current != null && current.version() == published.version()) {
+            movieMetrics.awardsCacheHits.increment();
+            return current;
+        }
+
+        movieMetrics.awardsCacheMisses.increment();
+        long startedAt = System.nanoTime();
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(published.result());
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        var etag = DigestUtils.md5DigestAsHex(body);
+        var identity = new Variant("\"" + etag + "\"", null, ByteBuffer.wrap(body).asReadOnlyBuffer());
+        var compressed = Boolean.TRUE.equals(gzip) ? gzip(body) : null;
+        var gzipped = compressed != null && compressed.length < body.length
+            ? new Variant("\"" + etag + "-" + GZIP + "\"", GZIP, ByteBuffer.wrap(compressed).asReadOnlyBuffer())
+            : identity;
+
+        current = new Encoded(published.version(), published.publishedAt().truncatedTo(ChronoUnit.SECONDS),
+            identity, gzipped);
+        encoded = current;
+        movieMetrics.awardsSerialization.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        return current;
+    }
+
+    public CacheControl cacheControl() {
+        return CacheControl.maxAge(maxAge).cachePublic();
+    }
+
+    private static byte[] gzip(byte[] body) {
+        var output = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (var gzipOutput = new GZIPOutputStream(output)) {
+            gzipOutput.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return output.toByteArray();
+    }
+
+    static boolean acceptsGzip(List<String> acceptEncoding) {
+        for (String header : acceptEncoding) {
+            for (String coding : header.split(",")) {
+                var parts = coding.split(";");
+                var name = parts[0].strip().toLowerCase(Locale.ROOT);
+                if ((name.equals(GZIP) || name.equals("*")) && !isRejected(parts)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean isRejected(String[] parameters) {
+        for (int i = 1; i < parameters.length; i++) {
+            var parameter = parameters[i].strip();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2)) <= 0;
+                } catch (NumberFormatException e) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    public record Encoded(long version, Instant lastModified, Variant identity, Variant gzip) {
+
+        public Variant variantFor(HttpHeaders requestHeaders) {
+            return gzip != identity && acceptsGzip(requestHeaders.getOrEmpty(HttpHeaders.ACCEPT_ENCODING))
+                ? gzip
+                : identity;
+        }
+    }
+
+    /**
+     * One representation of the response; {@code body} is shared and must be duplicated before it is read.
+     */
+    public record Variant(String etag, String contentEncoding, ByteBuffer body) {
+    }
+}
@@ -0,0 +1,45 @@
+package br.outsera.movies.controller;
+
+import br.outsera.movies.model.CatalogStatusDTO;
+import br.outsera.movies.model.MovieAwardsResultResponseDTO;
+import br.outsera.movies.service.CatalogRegistry;
+import br.outsera.movies.service.NamedCatalog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/catalog")
+public class CatalogController {
+
+    private final CatalogRegistry catalogRegistry;
+
+
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public Flux<CatalogStatusDTO> getCatalogs() {
+        return Flux.fromIterable(catalogRegistry.all())
+            .map(NamedCatalog::status);
+    }
+
+    @GetMapping(value = "/{name}/awards-result", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<MovieAwardsResultResponseDTO> getCatalogAwardsResult(@PathVariable String name) {
+        var catalog = catalogRegistry.get(name);
+        if (catalog == null) {
+            return Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND, "Catálogo não encontrado: " + name));
+        }
+        return catalog.getAwardsResult()
+            .timeout(catalogRegistry.waitTimeout)
+            .onErrorMap(error -> !(error instanceof ResponseStatusException),
+                error -> new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Catálogo " + name + " indisponível", error));
+    }
+}
@@ -1,24 +1,262 @@
 package br.outsera.movies.controller;
 
+import br.outsera.movies.csv.CsvLineParser;
+import br.outsera.movies.model.IntervalHistogramBucketDTO;
+import br.outsera.movies.model.IntervalPercentilesDTO;
+import br.outsera.movies.model.MovieAwardsRankingDTO;
 import br.outsera.movies.model.MovieAwardsResultResponseDTO;
+import br.outsera.movies.model.MovieBulkResultDTO;
+import br.outsera.movies.model.MovieEntity;
+import br.outsera.movies.model.ProducerAwardsDTO;
+import br.outsera.movies.model.ProducerIntervalDTO;
+import br.outsera.movies.service.IntervalGrouping;
+import br.outsera.movies.service.IntervalQuery;
+import br.outsera.movies.service.MovieSearchQuery;
 import br.outsera.movies.service.MovieService;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.net.URI;
+import java.util.List;
+
 
 @RequiredArgsConstructor
 @RestController
 @RequestMapping("/movie")
 public class MovieController {
 
+    static final int MAX_TOP_LIMIT = 1000;
+    static final String TEXT_CSV_VALUE = "text/csv";
+
     private final MovieService movieService;
+    private final AwardsResponseCache awardsResponseCache;
+
+
+    @GetMapping(value = "/awards-result", params = {"!fromYear", "!toYear"},
+        produces = MediaType.APPLICATION_JSON_VALUE)
+    @ApiResponse(responseCode = "200",
+        content = @Content(schema = @Schema(implementation = MovieAwardsResultResponseDTO.class)))
+    public Mono<Void> getMovieAwardsResult(ServerWebExchange exchange) {
+        return movieService.getPublishedAwardsResult()
+            .map(awardsResponseCache::encode)
+            .flatMap(encoded -> writeEncoded(exchange, encoded));
+    }
+
+    @GetMapping(value = "/awards-result", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<MovieAwardsResultResponseDTO> getMovieAwardsResultBetween(
+        @RequestParam(required = false) Integer fromYear,
+        @RequestParam(required = false) Integer toYear) {
+        if (fromYear != null && toYear != null && fromYear > toYear) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                "O parâmetro fromYear deve ser menor ou igual a toYear"));
+        }
+        return movieService.getMovieAwardsResult(fromYear, toYear);
+    }
+
+    private Mono<Void> writeEncoded(ServerWebExchange exchange, AwardsResponseCache.Encoded encoded) {
+        var variant = encoded.variantFor(exchange.getRequest().getHeaders());
+        var response = exchange.getResponse();
+        var headers = response.getHeaders();
+        headers.setVary(List.of(HttpHeaders.ACCEPT_ENCODING));
+        headers.setCacheControl(awardsResponseCache.cacheControl());
+        if (exchange.checkNotModified(variant.etag(), encoded.lastModified())) {
+            return response.setComplete();
+        }
+
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        if (variant.contentEncoding() != null) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, variant.contentEncoding());
+        }
+        headers.setContentLength(variant.body().remaining());
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(variant.body().duplicate())));
+    }
+
+    @GetMapping(value = "/awards-result/intervals", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<ProducerIntervalDTO> streamIntervals(@RequestParam(required = false) String producer,
+                                                     @RequestParam(required = false) Integer fromYear,
+                                                     @RequestParam(required = false) Integer toYear,
+                                                     @RequestParam(required = false) String cursor,
+                                                     @RequestParam(required = false) Integer limit) {
+        return intervals(IntervalQuery.builder()
+            .producer(producer)
+            .fromYear(fromYear)
+            .toYear(toYear)
+            .cursor(cursor)
+            .build(), limit);
+    }
+
+    @GetMapping(value = "/awards-result/intervals", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<ProducerIntervalDTO>> streamIntervalEvents(
+        @RequestParam(required = false) String producer,
+        @RequestParam(required = false) Integer fromYear,
+        @RequestParam(required = false) Integer toYear,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(required = false) Integer limit,
+        @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return intervals(IntervalQuery.builder()
+                .producer(producer)
+                .fromYear(fromYear)
+                .toYear(toYear)
+                .cursor(cursor != null ? cursor : lastEventId)
+                .build(), limit)
+            .map(interval -> ServerSentEvent.builder(interval)
+                .id(interval.cursor())
+                .event("interval")
+                .build());
+    }
+
+    private Flux<ProducerIntervalDTO> intervals(IntervalQuery query, Integer limit) {
+        if (limit != null && limit < 1) {
+            return Flux.error(new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                "O parâmetro limit deve ser maior que zero"));
+        }
+
+        var intervals = movieService.streamIntervals(query)
+            .onErrorMap(IllegalArgumentException.class,
+                error -> new ResponseStatusException(HttpStatus.BAD_REQUEST, error.getMessage()));
+        return limit == null ? intervals : intervals.take(limit);
+    }
 
+    @GetMapping(value = "/awards-result/live", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<MovieAwardsResultResponseDTO>> streamAwardsResult() {
+        return movieService.awardsResultUpdates()
+            .onBackpressureLatest()
+            .map(published -> ServerSentEvent.builder(published.result())
+                .id(String.valueOf(published.version()))
+                .event("awards-result")
+                .build());
+    }
+
+    @GetMapping("/awards-result/top")
+    public Mono<MovieAwardsRankingDTO> getTopIntervals(@RequestParam(defaultValue = "10") int limit) {
+        if (limit < 1 || limit > MAX_TOP_LIMIT) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                "O parâmetro limit deve estar entre 1 e " + MAX_TOP_LIMIT));
+        }
+        return movieService.getTopIntervals(limit);
+    }
+
+    @GetMapping("/awards-result/histogram")
+    public Flux<IntervalHistogramBucketDTO> getIntervalHistogram() {
+        return movieService.getIntervalHistogram();
+    }
+
+    @GetMapping("/awards-result/percentiles")
+    public Flux<IntervalPercentilesDTO> getIntervalPercentiles(@RequestParam(defaultValue = "decade") String groupBy) {
+        IntervalGrouping grouping;
+        try {
+            grouping = IntervalGrouping.of(groupBy);
+        } catch (IllegalArgumentException e) {
+            return Flux.error(new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                "O parâmetro groupBy deve ser decade ou studio"));
+        }
+        return movieService.getIntervalPercentiles(grouping);
+    }
+
+    @GetMapping("/search")
+    public Flux<MovieEntity> searchMovies(@RequestParam(required = false) String title,
+                                          @RequestParam(required = false) String studio,
+                                          @RequestParam(required = false) String producer,
+                                          @RequestParam(required = false) Integer year,
+                                          @RequestParam(required = false) Boolean winner,
+                                          @RequestParam(required = false) Long afterId,
+                                          @RequestParam(defaultValue = "100") int limit) {
+        if (limit < 1 || limit > MAX_TOP_LIMIT) {
+            return Flux.error(new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                "O parâmetro limit deve estar entre 1 e " + MAX_TOP_LIMIT));
+        }
+
+        var query = MovieSearchQuery.builder()
+            .title(title)
+            .studio(studio)
+            .producer(producer)
+            .year(year)
+            .winner(winner)
+            .afterId(afterId)
+            .build();
+        return movieService.searchMovies(query, limit)
+            .onErrorMap(IllegalArgumentException.class,
+                error -> new ResponseStatusException(HttpStatus.BAD_REQUEST, error.getMessage()));
+    }
+
+    @GetMapping("/producers/{name}")
+    public Mono<ProducerAwardsDTO> getProducerAwards(@PathVariable String name) {
+        return movieService.getProducerAwards(name)
+            .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND, "Produtor não encontrado")));
+    }
+
+    @GetMapping("/{id}")
+    public Mono<MovieEntity> getMovie(@PathVariable Long id) {
+        return movieService.getMovie(id)
+            .switchIfEmpty(Mono.error(movieNotFound()));
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<MovieEntity>> createMovie(@RequestBody MovieEntity movie) {
+        if (!MovieService.isValid(movie)) {
+            return Mono.error(invalidMovie());
+        }
+        return movieService.saveMovie(movie)
+            .map(saved -> ResponseEntity.created(URI.create("/movie/" + saved.id())).body(saved));
+    }
+
+    @PutMapping("/{id}")
+    public Mono<MovieEntity> updateMovie(@PathVariable Long id, @RequestBody MovieEntity movie) {
+        if (!MovieService.isValid(movie)) {
+            return Mono.error(invalidMovie());
+        }
+        return movieService.updateMovie(id, movie)
+            .switchIfEmpty(Mono.error(movieNotFound()));
+    }
+
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public Mono<Void> deleteMovie(@PathVariable Long id) {
+        return movieService.deleteMovie(id)
+            .switchIfEmpty(Mono.error(movieNotFound()))
+            .then();
+    }
+
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public Mono<MovieBulkResultDTO> insertMoviesFromNdjson(@RequestBody Flux<MovieEntity> movies) {
+        return movieService.insertMovies(movies);
+    }
+
+    @PostMapping(value = "/bulk", consumes = TEXT_CSV_VALUE)
+    public Mono<MovieBulkResultDTO> insertMoviesFromCsv(@RequestBody Flux<String> lines,
+                                                        @RequestParam(defaultValue = ";") char separator) {
+        return movieService.insertMovies(CsvLineParser.parse(lines, separator))
+            .onErrorMap(IllegalArgumentException.class,
+                error -> new ResponseStatusException(HttpStatus.BAD_REQUEST, error.getMessage()));
+    }
+
+    private static ResponseStatusException movieNotFound() {
+        return new ResponseStatusException(HttpStatus.NOT_FOUND, "Filme não encontrado");
+    }
 
-    @GetMapping("/awards-result")
-    public Mono<MovieAwardsResultResponseDTO> getMovieAwardsResult() {
-        return movieService.getMovieAwardsResult();
+    private static ResponseStatusException invalidMovie() {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, "O ano do filme deve ser informado");
     }
 }
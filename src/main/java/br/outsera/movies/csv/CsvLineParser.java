@@ -0,0 +1,74 @@
+package br.outsera.movies.csv;
+
+import br.outsera.movies.model.MovieEntity;
+import reactor.core.publisher.Flux;
+
+import java.util.regex.Pattern;
+
+import static br.outsera.movies.csv.MappedMovieCsvReader.COLUMNS;
+import static br.outsera.movies.csv.MappedMovieCsvReader.PRODUCERS;
+import static br.outsera.movies.csv.MappedMovieCsvReader.STUDIOS;
+import static br.outsera.movies.csv.MappedMovieCsvReader.TITLE;
+import static br.outsera.movies.csv.MappedMovieCsvReader.WINNER;
+import static br.outsera.movies.csv.MappedMovieCsvReader.YEAR;
+import static br.outsera.movies.csv.MappedMovieCsvReader.headerSlots;
+
+/**
+ * Parses catalog lines that arrive already split, such as a streamed request body.
+ */
+public final class CsvLineParser {
+
+    private final Pattern separator;
+    private final int[] slots;
+
+    private CsvLineParser(String header, char separator) {
+        this.separator = Pattern.compile(Pattern.quote(String.valueOf(separator)));
+        this.slots = headerSlots(header, separator);
+    }
+
+    public static Flux<MovieEntity> parse(Flux<String> lines, char separator) {
+        return lines
+            .filter(line -> !line.isBlank())
+            .switchOnFirst((header, remaining) -> {
+                if (!header.hasValue()) {
+                    return remaining.then(Flux.empty());
+                }
+                var parser = new CsvLineParser(header.get(), separator);
+                return remaining.skip(1).map(parser::parseLine);
+            });
+    }
+
+    MovieEntity parseLine(String line) {
+        var fields = new String[COLUMNS.length];
+        var values = separator.split(line, -1);
+        for (int column = 0; column < values.length && column < slots.length; column++) {
+            if (slots[column] >= 0) {
+                fields[slots[column]] = values[column].strip();
+            }
+        }
+
+        return MovieEntity.builder()
+            .years(parseYear(fields[YEAR]))
+            .title(orEmpty(fields[TITLE]))
+            .studios(orEmpty(fields[STUDIOS]))
+            .producers(orEmpty(fields[PRODUCERS]))
+            .winner("yes".equalsIgnoreCase(fields[WINNER]))
+            .build();
+    }
+
+    private static int parseYear(String year) {
+        if (year == null || year.isEmpty() || year.length() > 9) {
+            return 0;
+        }
+        for (int i = 0; i < year.length(); i++) {
+            if (!Character.isDigit(year.charAt(i))) {
+                return 0;
+            }
+        }
+        return Integer.parseInt(year);
+    }
+
+    private static String orEmpty(String value) {
+        return value == null ? "" : value;
+    }
+}
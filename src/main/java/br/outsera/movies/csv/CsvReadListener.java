@@ -0,0 +1,16 @@
+package br.outsera.movies.csv;
+
+/**
+ * Receives the lines a {@link MovieCsvReader} could not map and its read failures.
+ */
+public interface CsvReadListener {
+
+    CsvReadListener NONE = new CsvReadListener() {
+    };
+
+    default void rowsDropped(long rows) {
+    }
+
+    default void readFailed(Throwable error) {
+    }
+}
@@ -0,0 +1,387 @@
+package br.outsera.movies.csv;
+
+import br.outsera.movies.model.MovieEntity;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Reads the catalog from a memory-mapped file, in parallel chunks.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "api.csv-file.reader", havingValue = "mapped", matchIfMissing = true)
+public class MappedMovieCsvReader implements MovieCsvReader {
+
+    static final String[] COLUMNS = {"year", "title", "studios", "producers", "winner"};
+
+    static final int YEAR = 0;
+    static final int TITLE = 1;
+    static final int STUDIOS = 2;
+    static final int PRODUCERS = 3;
+    static final int WINNER = 4;
+
+    static final char QUOTE = '"';
+
+    private static final int PREFETCH = 1024;
+    private static final long MIN_CHUNK_SIZE = 1L << 20;
+    private static final long MAX_CHUNK_SIZE = 64L << 20;
+
+    @Override
+    public Flux<MovieEntity> read(Resource resource, char separator, CsvReadListener listener) {
+        if (separator > 0x7F) {
+            return Flux.error(new IllegalArgumentException("O separador do CSV deve ser um caractere ASCII"));
+        }
+
+        return Flux.using(
+                () -> CsvFile.open(resource, (byte) separator),
+                file -> Flux.fromIterable(file.chunks())
+                    .flatMapSequential(chunk -> Flux.<MovieEntity, ChunkCursor>generate(
+                            () -> file.cursor(chunk),
+                            (cursor, sink) -> {
+                                var movie = cursor.next();
+                                if (movie == null) {
+                                    if (cursor.dropped > 0) {
+                                        listener.rowsDropped(cursor.dropped);
+                                    }
+                                    sink.complete();
+                                } else {
+                                    sink.next(movie);
+                                }
+                                return cursor;
+                            })
+                        .subscribeOn(Schedulers.parallel()), Schedulers.DEFAULT_POOL_SIZE, PREFETCH),
+                CsvFile::close)
+            .doOnError(error -> {
+                log.warn("Falha ao ler o arquivo CSV {}", resource, error);
+                listener.readFailed(error);
+            });
+    }
+
+    /**
+     * Removes the quotes of a quoted field, turning each doubled quote inside it into one.
+     */
+    static String unquote(String value) {
+        var unquoted = new StringBuilder(value.length());
+        boolean quoted = false;
+        for (int i = 0; i < value.length(); i++) {
+            char character = value.charAt(i);
+            if (character != QUOTE) {
+                unquoted.append(character);
+            } else if (quoted && i + 1 < value.length() && value.charAt(i + 1) == QUOTE) {
+                unquoted.append(QUOTE);
+                i++;
+            } else {
+                quoted = !quoted;
+            }
+        }
+        return unquoted.toString();
+    }
+
+    static int[] headerSlots(String header, char separator) {
+        var names = header.split(Pattern.quote(String.valueOf(separator)), -1);
+        var slots = new int[names.length];
+        Arrays.fill(slots, -1);
+
+        boolean[] found = new boolean[COLUMNS.length];
+        for (int column = 0; column < names.length; column++) {
+            var name = names[column].strip().replace("\uFEFF", "");
+            for (int slot = 0; slot < COLUMNS.length; slot++) {
+                if (COLUMNS[slot].equalsIgnoreCase(name)) {
+                    slots[column] = slot;
+                    found[slot] = true;
+                }
+            }
+        }
+
+        for (int slot = 0; slot < COLUMNS.length; slot++) {
+            if (!found[slot]) {
+                throw new IllegalArgumentException("Coluna obrigatória ausente no CSV: " + COLUMNS[slot]);
+            }
+        }
+        return slots;
+    }
+
+    record Chunk(long start, long end) {
+    }
+
+    static final class CsvFile implements Closeable {
+
+        private final Path path;
+        private final boolean temporary;
+        private final FileChannel channel;
+        private final byte separator;
+        private final int[] slots;
+        private final long dataStart;
+
+        private CsvFile(Path path, boolean temporary, byte separator) throws IOException {
+            this.path = path;
+            this.temporary = temporary;
+            this.channel = FileChannel.open(path, StandardOpenOption.READ);
+            this.separator = separator;
+
+            try {
+                this.dataStart = nextLineStart(0);
+                this.slots = headerSlots(readHeader(dataStart), (char) separator);
+            } catch (IOException | RuntimeException e) {
+                close();
+                throw e;
+            }
+        }
+
+        static CsvFile open(Resource resource, byte separator) throws IOException {
+            if (resource.isFile()) {
+                return new CsvFile(resource.getFile().toPath(), false, separator);
+            }
+
+            var copy = Files.createTempFile("movielist", ".csv");
+            try (InputStream inputStream = resource.getInputStream()) {
+                Files.copy(inputStream, copy, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return new CsvFile(copy, true, separator);
+        }
+
+        List<Chunk> chunks() {
+            long size = size();
+            long target = (size - dataStart) / Runtime.getRuntime().availableProcessors();
+            long chunkSize = Math.min(MAX_CHUNK_SIZE, Math.max(MIN_CHUNK_SIZE, target));
+
+            var chunks = new ArrayList<Chunk>();
+            long start = dataStart;
+            while (start < size) {
+                long end = start + chunkSize >= size ? size : nextLineStart(start + chunkSize);
+                chunks.add(new Chunk(start, end));
+                start = end;
+            }
+            return chunks;
+        }
+
+        ChunkCursor cursor(Chunk chunk) throws IOException {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, chunk.start(), chunk.end() - chunk.start());
+            return new ChunkCursor(buffer, separator, slots);
+        }
+
+        private long size() {
+            try {
+                return channel.size();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private long nextLineStart(long position) {
+            var buffer = ByteBuffer.allocate(8192);
+            long offset = position;
+            try {
+                while (true) {
+                    buffer.clear();
+                    int read = channel.read(buffer, offset);
+                    if (read <= 0) {
+                        return channel.size();
+                    }
+                    for (int i = 0; i < read; i++) {
+                        if (buffer.get(i) == '\n') {
+                            return offset + i + 1;
+                        }
+                    }
+                    offset += read;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private String readHeader(long headerEnd) throws IOException {
+            var buffer = ByteBuffer.allocate((int) headerEnd);
+            channel.read(buffer, 0);
+            return new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8).strip();
+        }
+
+        @Override
+        public void close() {
+            try {
+                channel.close();
+                if (temporary) {
+                    Files.deleteIfExists(path);
+                }
+            } catch (IOException e) {
+                log.debug("Falha ao fechar o arquivo CSV {}", path, e);
+            }
+        }
+    }
+
+    static final class ChunkCursor {
+
+        private final ByteBuffer buffer;
+        private final byte separator;
+        private final int[] slots;
+        private final int[] fieldStart = new int[COLUMNS.length];
+        private final int[] fieldEnd = new int[COLUMNS.length];
+        private final boolean[] fieldQuoted = new boolean[COLUMNS.length];
+        private int position;
+        int dropped;
+
+        ChunkCursor(ByteBuffer buffer, byte separator, int[] slots) {
+            this.buffer = buffer;
+            this.separator = separator;
+            this.slots = slots;
+        }
+
+        MovieEntity next() {
+            int limit = buffer.limit();
+            while (position < limit) {
+                int lineStart = position;
+                int lineEnd = lineStart;
+                while (lineEnd < limit && buffer.get(lineEnd) != '\n') {
+                    lineEnd++;
+                }
+                position = lineEnd + 1;
+
+                if (lineEnd > lineStart && buffer.get(lineEnd - 1) == '\r') {
+                    lineEnd--;
+                }
+                if (lineEnd == lineStart) {
+                    continue;
+                }
+
+                var movie = parseLine(lineStart, lineEnd);
+                if (movie != null) {
+                    return movie;
+                }
+                dropped++;
+            }
+            return null;
+        }
+
+        private MovieEntity parseLine(int lineStart, int lineEnd) {
+            Arrays.fill(fieldStart, -1);
+
+            int column = 0;
+            int start = lineStart;
+            boolean quoted = false;
+            boolean hasQuotes = false;
+            for (int i = lineStart; i <= lineEnd; i++) {
+                byte current = i == lineEnd ? separator : buffer.get(i);
+                if (current == QUOTE) {
+                    quoted = !quoted;
+                    hasQuotes = true;
+                } else if (current == separator && (!quoted || i == lineEnd)) {
+                    int slot = column < slots.length ? slots[column] : -1;
+                    if (slot >= 0) {
+                        fieldStart[slot] = skipLeadingWhitespace(start, i);
+                        fieldEnd[slot] = i;
+                        fieldQuoted[slot] = hasQuotes;
+                    }
+                    column++;
+                    start = i + 1;
+                    hasQuotes = false;
+                }
+            }
+
+            int year = parseYear();
+            if (year == Integer.MIN_VALUE) {
+                return null;
+            }
+
+            return MovieEntity.builder()
+                .years(year)
+                .title(decode(TITLE))
+                .studios(decode(STUDIOS))
+                .producers(decode(PRODUCERS))
+                .winner(isWinner())
+                .build();
+        }
+
+        private int skipLeadingWhitespace(int start, int end) {
+            while (start < end && (buffer.get(start) == ' ' || buffer.get(start) == '\t')) {
+                start++;
+            }
+            return start;
+        }
+
+        private int parseYear() {
+            int start = fieldStart[YEAR];
+            int end = fieldEnd[YEAR];
+            if (start < 0) {
+                return Integer.MIN_VALUE;
+            }
+            if (fieldQuoted[YEAR]) {
+                return parseQuotedYear(decode(YEAR));
+            }
+            while (end > start && buffer.get(end - 1) == ' ') {
+                end--;
+            }
+            if (start == end || end - start > 9) {
+                return Integer.MIN_VALUE;
+            }
+
+            int year = 0;
+            for (int i = start; i < end; i++) {
+                int digit = buffer.get(i) - '0';
+                if (digit < 0 || digit > 9) {
+                    return Integer.MIN_VALUE;
+                }
+                year = year * 10 + digit;
+            }
+            return year;
+        }
+
+        private static int parseQuotedYear(String year) {
+            var digits = year.strip();
+            if (digits.isEmpty() || digits.length() > 9 || !digits.chars().allMatch(Character::isDigit)) {
+                return Integer.MIN_VALUE;
+            }
+            return Integer.parseInt(digits);
+        }
+
+        private boolean isWinner() {
+            int start = fieldStart[WINNER];
+            int end = fieldEnd[WINNER];
+            if (start < 0) {
+                return false;
+            }
+            if (fieldQuoted[WINNER]) {
+                return "yes".equalsIgnoreCase(decode(WINNER).strip());
+            }
+            while (end > start && buffer.get(end - 1) == ' ') {
+                end--;
+            }
+            return end - start == 3
+                && (buffer.get(start) | 0x20) == 'y'
+                && (buffer.get(start + 1) | 0x20) == 'e'
+                && (buffer.get(start + 2) | 0x20) == 's';
+        }
+
+        private String decode(int slot) {
+            int start = fieldStart[slot];
+            if (start < 0 || start == fieldEnd[slot]) {
+                return "";
+            }
+
+            var bytes = new byte[fieldEnd[slot] - start];
+            buffer.get(start, bytes);
+            var value = new String(bytes, StandardCharsets.UTF_8);
+            return fieldQuoted[slot] ? unquote(value) : value;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package br.outsera.movies.csv;
+
+import br.outsera.movies.model.MovieEntity;
+import org.springframework.core.io.Resource;
+import reactor.core.publisher.Flux;
+
+public interface MovieCsvReader {
+
+    default Flux<MovieEntity> read(Resource resource, char separator) {
+        return read(resource, separator, CsvReadListener.NONE);
+    }
+
+    Flux<MovieEntity> read(Resource resource, char separator, CsvReadListener listener);
+
+}
@@ -0,0 +1,58 @@
+package br.outsera.movies.csv;
+
+import br.outsera.movies.model.MovieCsv;
+import br.outsera.movies.model.MovieEntity;
+import com.opencsv.bean.CsvToBeanBuilder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "api.csv-file.reader", havingValue = "opencsv")
+public class OpenCsvMovieReader implements MovieCsvReader {
+
+    @Override
+    public Flux<MovieEntity> read(Resource resource, char separator, CsvReadListener listener) {
+        return Flux.using(
+                () -> new InputStreamReader(resource.getInputStream()),
+                reader -> {
+                    var csvToBean = new CsvToBeanBuilder<MovieCsv>(reader)
+                        .withType(MovieCsv.class)
+                        .withIgnoreLeadingWhiteSpace(true)
+                        .withThrowExceptions(false)
+                        .withSeparator(separator)
+                        .build();
+                    return Flux.fromIterable(csvToBean)
+                        .doOnComplete(() -> reportDropped(csvToBean.getCapturedExceptions().size(), resource, listener));
+                },
+                OpenCsvMovieReader::closeQuietly)
+            .onErrorResume(error -> {
+                log.warn("Falha ao ler o arquivo CSV {}", resource, error);
+                listener.readFailed(error);
+                return Flux.empty();
+            })
+            .map(MovieCsv::toEntity);
+    }
+
+    private static void reportDropped(int rows, Resource resource, CsvReadListener listener) {
+        if (rows > 0) {
+            log.warn("{} linhas do arquivo CSV {} foram descartadas", rows, resource);
+            listener.rowsDropped(rows);
+        }
+    }
+
+    private static void closeQuietly(Reader reader) {
+        try {
+            reader.close();
+        } catch (IOException e) {
+            log.debug("Falha ao fechar o arquivo CSV", e);
+        }
+    }
+}
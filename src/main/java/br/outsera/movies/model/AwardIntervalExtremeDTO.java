@@ -0,0 +1,16 @@
+package br.outsera.movies.model;
+
+
+import lombok.Builder;
+
+@Builder
+public record AwardIntervalExtremeDTO(
+    String kind,
+
+    String producers,
+
+    int previousWin,
+
+    int followingWin
+) {
+}
@@ -0,0 +1,14 @@
+package br.outsera.movies.model;
+
+
+import lombok.Builder;
+
+@Builder
+public record CatalogStatusDTO(
+    String name,
+
+    String phase,
+
+    long movies
+) {
+}
@@ -0,0 +1,22 @@
+package br.outsera.movies.model;
+
+
+import lombok.Builder;
+
+@Builder
+public record IntervalPercentilesDTO(
+    String group,
+
+    Long count,
+
+    Integer min,
+
+    Integer p50,
+
+    Integer p90,
+
+    Integer p99,
+
+    Integer max
+) {
+}
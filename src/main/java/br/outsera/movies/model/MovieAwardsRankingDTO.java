@@ -0,0 +1,13 @@
+package br.outsera.movies.model;
+
+
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+public record MovieAwardsRankingDTO(
+    List<MovieAwardsResultDTO> shortest,
+    List<MovieAwardsResultDTO> longest
+) {
+}
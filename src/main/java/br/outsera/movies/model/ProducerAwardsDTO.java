@@ -0,0 +1,16 @@
+package br.outsera.movies.model;
+
+
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+public record ProducerAwardsDTO(
+    String producer,
+
+    List<Integer> wins,
+
+    List<MovieAwardsResultDTO> intervals
+) {
+}
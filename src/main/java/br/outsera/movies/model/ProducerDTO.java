@@ -0,0 +1,12 @@
+package br.outsera.movies.model;
+
+
+import lombok.Builder;
+
+@Builder
+public record ProducerDTO(
+    int id,
+
+    String name
+) {
+}
@@ -0,0 +1,18 @@
+package br.outsera.movies.model;
+
+
+import lombok.Builder;
+
+@Builder
+public record ProducerIntervalDTO(
+    String producers,
+
+    Integer interval,
+
+    Integer previousWin,
+
+    Integer followingWin,
+
+    String cursor
+) {
+}
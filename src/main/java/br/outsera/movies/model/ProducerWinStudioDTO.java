@@ -0,0 +1,14 @@
+package br.outsera.movies.model;
+
+
+import lombok.Builder;
+
+@Builder
+public record ProducerWinStudioDTO(
+    int producerId,
+
+    int years,
+
+    String studios
+) {
+}
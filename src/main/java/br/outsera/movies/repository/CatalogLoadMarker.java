@@ -0,0 +1,69 @@
+package br.outsera.movies.repository;
+
+import br.outsera.movies.repository.MovieBatchRepository.CatalogLoadClaim;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * The {@code CATALOG_LOAD} row through which instances sharing a database agree on who imports the CSV.
+ */
+record CatalogLoadMarker(String status, OffsetDateTime startedAt, OffsetDateTime checkedAt) {
+
+    static final String NEW = "NEW";
+    static final String LOADING = "LOADING";
+    static final String READY = "READY";
+    static final String FAILED = "FAILED";
+
+    static final String INSERT = """
+        INSERT INTO CATALOG_LOAD (id, status, started_at)
+        SELECT 1, 'NEW', CURRENT_TIMESTAMP
+        WHERE NOT EXISTS (SELECT 1 FROM CATALOG_LOAD WHERE id = 1)
+        """;
+
+    static final String LOCK = """
+        SELECT status, started_at, CURRENT_TIMESTAMP AS checked_at FROM CATALOG_LOAD
+        WHERE id = 1
+        FOR UPDATE
+        """;
+
+    static final String COUNT_MOVIES = """
+        SELECT COUNT(*) FROM MOVIE
+        """;
+
+    static final String DELETE_MOVIES = """
+        DELETE FROM MOVIE
+        """;
+
+    private static final String MARK = """
+        UPDATE CATALOG_LOAD SET status = '%s', started_at = CURRENT_TIMESTAMP
+        WHERE id = 1
+        """;
+
+    static String mark(String status) {
+        return MARK.formatted(status);
+    }
+
+    /**
+     * A catalog found without a marker is adopted; a failed or stale load is taken over.
+     */
+    CatalogLoadClaim claim(Duration staleAfter, long movies) {
+        return switch (status) {
+            case READY -> CatalogLoadClaim.RESTORE;
+            case NEW -> movies > 0 ? CatalogLoadClaim.RESTORE : CatalogLoadClaim.LOAD;
+            case LOADING -> startedAt.plus(staleAfter).isAfter(checkedAt)
+                ? CatalogLoadClaim.WAIT
+                : CatalogLoadClaim.LOAD;
+            default -> CatalogLoadClaim.LOAD;
+        };
+    }
+
+    List<String> writes(CatalogLoadClaim claim) {
+        return switch (claim) {
+            case LOAD -> List.of(DELETE_MOVIES, mark(LOADING));
+            case RESTORE -> READY.equals(status) ? List.of() : List.of(mark(READY));
+            case WAIT -> List.of();
+        };
+    }
+}
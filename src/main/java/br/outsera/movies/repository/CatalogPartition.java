@@ -0,0 +1,62 @@
+package br.outsera.movies.repository;
+
+import br.outsera.movies.model.MovieEntity;
+import br.outsera.movies.model.ProducerWinDTO;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Storage of a named catalog, in a database of its own.
+ */
+public class CatalogPartition implements AutoCloseable {
+
+    private static final String[] CLEAR = {
+        "DELETE FROM MOVIE_PRODUCER",
+        "DELETE FROM PRODUCER",
+        "DELETE FROM MOVIE"
+    };
+
+    private final ConnectionFactory connectionFactory;
+    private final DatabaseClient databaseClient;
+    private final MovieBatchRepositoryImpl batches;
+
+    public CatalogPartition(ConnectionFactory connectionFactory, ProducerDictionary producerDictionary) {
+        this.connectionFactory = connectionFactory;
+        this.databaseClient = DatabaseClient.create(connectionFactory);
+        this.batches = new MovieBatchRepositoryImpl(databaseClient, producerDictionary);
+    }
+
+    /**
+     * Creates the schema if missing and empties it.
+     */
+    public Mono<Void> reset() {
+        return new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).populate(connectionFactory)
+            .thenMany(Flux.fromArray(CLEAR)
+                .concatMap(sql -> databaseClient.sql(sql).then()))
+            .then();
+    }
+
+    public Mono<List<MovieEntity>> insertBatch(List<MovieEntity> movies) {
+        return batches.insertBatch(movies);
+    }
+
+    public Flux<ProducerWinDTO> getProducerWins() {
+        return databaseClient.sql(MovieQueries.PRODUCER_WINS)
+            .map(row -> new ProducerWinDTO(row.get("producer_id", Integer.class), row.get("years", Integer.class)))
+            .all();
+    }
+
+    @Override
+    public void close() {
+        if (connectionFactory instanceof Disposable disposable) {
+            disposable.dispose();
+        }
+    }
+}
@@ -0,0 +1,530 @@
+package br.outsera.movies.repository;
+
+import br.outsera.movies.model.AwardIntervalExtremeDTO;
+import br.outsera.movies.model.MovieEntity;
+import br.outsera.movies.model.ProducerDTO;
+import br.outsera.movies.model.ProducerWinDTO;
+import br.outsera.movies.model.ProducerWinStudioDTO;
+import org.reactivestreams.Publisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.dao.support.DataAccessUtils;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+/**
+ * {@link MovieRepository} on blocking JDBC, each call on a virtual thread.
+ */
+public class JdbcMovieRepository implements MovieRepository, AutoCloseable {
+
+    static final int PAGE_SIZE = 10_000;
+    static final int ID_CHUNK_SIZE = 1_000;
+
+    private static final String SELECT_MOVIE = """
+        SELECT id, years, title, studios, producers, winner FROM MOVIE
+        """;
+
+    private static final String INSERT_MOVIE = """
+        INSERT INTO MOVIE (years, title, studios, producers, winner)
+        VALUES (?, ?, ?, ?, ?)
+        """;
+
+    private static final String SELECT_MOVIE_FOR_UPDATE = SELECT_MOVIE + """
+        WHERE id = ?
+        FOR UPDATE
+        """;
+
+    private static final String UPDATE_MOVIE = """
+        UPDATE MOVIE SET years = ?, title = ?, studios = ?, producers = ?, winner = ?
+        WHERE id = ?
+        """;
+
+    private static final String DELETE_MOVIE = """
+        DELETE FROM MOVIE WHERE id = ?
+        """;
+
+    private static final String DELETE_MOVIE_PRODUCERS = """
+        DELETE FROM MOVIE_PRODUCER WHERE movie_id = ?
+        """;
+
+    private static final String INSERT_PRODUCER = """
+        INSERT INTO PRODUCER (name)
+        SELECT CAST(? AS VARCHAR(255))
+        WHERE NOT EXISTS (SELECT 1 FROM PRODUCER WHERE name = ?)
+        """;
+
+    private static final String SELECT_PRODUCERS = """
+        SELECT id, name FROM PRODUCER WHERE name IN
+        """;
+
+    private static final String INSERT_MOVIE_PRODUCER = """
+        INSERT INTO MOVIE_PRODUCER (movie_id, producer_id)
+        VALUES (?, ?)
+        """;
+
+    private static final RowMapper<MovieEntity> MOVIE = (row, rowNum) -> MovieEntity.builder()
+        .id(row.getLong("id"))
+        .years(row.getInt("years"))
+        .title(row.getString("title"))
+        .studios(row.getString("studios"))
+        .producers(row.getString("producers"))
+        .winner(row.getBoolean("winner"))
+        .build();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ProducerDictionary producerDictionary;
+    private final Scheduler scheduler = Schedulers.fromExecutorService(
+        Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("jdbc-", 0).factory()), "jdbc");
+
+    public JdbcMovieRepository(DataSource dataSource, ProducerDictionary producerDictionary) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(PAGE_SIZE);
+        this.producerDictionary = producerDictionary;
+    }
+
+    @Override
+    public Flux<ProducerWinDTO> getMovieAwardsResult() {
+        return query(MovieQueries.PRODUCER_WINS, (row, rowNum) -> new ProducerWinDTO(
+            row.getInt("producer_id"), row.getInt("years")));
+    }
+
+    @Override
+    public Flux<ProducerWinStudioDTO> getProducerWinsWithStudios() {
+        return query(MovieQueries.PRODUCER_WINS_WITH_STUDIOS, (row, rowNum) -> new ProducerWinStudioDTO(
+            row.getInt("producer_id"), row.getInt("years"), row.getString("studios")));
+    }
+
+    @Override
+    public Flux<AwardIntervalExtremeDTO> getAwardIntervalExtremes() {
+        return query(MovieQueries.AWARD_INTERVAL_EXTREMES, (row, rowNum) -> new AwardIntervalExtremeDTO(
+            row.getString("kind"), row.getString("producers"),
+            row.getInt("previous_win"), row.getInt("following_win")));
+    }
+
+    @Override
+    public Flux<ProducerDTO> getProducers() {
+        return query(MovieQueries.PRODUCERS, (row, rowNum) -> new ProducerDTO(row.getInt("id"), row.getString("name")));
+    }
+
+    @Override
+    public Mono<List<MovieEntity>> insertBatch(List<MovieEntity> movies) {
+        if (movies.isEmpty()) {
+            return Mono.just(List.of());
+        }
+        return call(() -> {
+            registerProducers(movies);
+            return inTransaction(connection -> insert(connection, movies));
+        });
+    }
+
+    @Override
+    public Mono<MovieEntity> insertMovie(MovieEntity movie) {
+        return insertBatch(List.of(movie))
+            .map(List::getFirst);
+    }
+
+    @Override
+    public Mono<MovieUpdate> updateMovie(MovieEntity movie) {
+        return call(() -> {
+            registerProducers(List.of(movie));
+            return inTransaction(connection -> {
+                var previous = lock(connection, movie.id());
+                if (previous == null) {
+                    return null;
+                }
+                try (var statement = connection.prepareStatement(UPDATE_MOVIE)) {
+                    bind(statement, movie);
+                    statement.setLong(6, movie.id());
+                    statement.executeUpdate();
+                }
+                executeBatch(connection, DELETE_MOVIE_PRODUCERS, List.of(movie.id()),
+                    (statement, movieId) -> statement.setLong(1, movieId));
+                linkProducers(connection, List.of(movie), List.of(movie.id()));
+                return new MovieUpdate(previous, movie);
+            });
+        });
+    }
+
+    @Override
+    public Mono<MovieEntity> deleteMovie(Long id) {
+        return call(() -> inTransaction(connection -> {
+            var movie = lock(connection, id);
+            if (movie == null) {
+                return null;
+            }
+            try (var statement = connection.prepareStatement(DELETE_MOVIE)) {
+                statement.setLong(1, id);
+                return statement.executeUpdate() > 0 ? movie : null;
+            }
+        }));
+    }
+
+    private static MovieEntity lock(Connection connection, Long id) throws SQLException {
+        try (var statement = connection.prepareStatement(SELECT_MOVIE_FOR_UPDATE)) {
+            statement.setLong(1, id);
+            try (var row = statement.executeQuery()) {
+                return row.next() ? MOVIE.mapRow(row, 0) : null;
+            }
+        }
+    }
+
+    private static List<MovieEntity> lock(Connection connection, List<Long> ids) throws SQLException {
+        var movies = new ArrayList<MovieEntity>(ids.size());
+        for (int from = 0; from < ids.size(); from += ID_CHUNK_SIZE) {
+            var chunk = ids.subList(from, Math.min(from + ID_CHUNK_SIZE, ids.size()));
+            try (var statement = connection.prepareStatement(SELECT_MOVIE + " WHERE id IN ("
+                + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ") FOR UPDATE")) {
+                for (int i = 0; i < chunk.size(); i++) {
+                    statement.setLong(i + 1, chunk.get(i));
+                }
+                try (var row = statement.executeQuery()) {
+                    while (row.next()) {
+                        movies.add(MOVIE.mapRow(row, movies.size()));
+                    }
+                }
+            }
+        }
+        return movies;
+    }
+
+    @Override
+    public Mono<MovieReplace> replaceBatch(List<Long> removedIds, List<MovieEntity> added, int batchSize) {
+        return call(() -> {
+            registerProducers(added);
+            return inTransaction(connection -> {
+                var removed = lock(connection, removedIds);
+                executeBatch(connection, DELETE_MOVIE, removed, (statement, movie) -> statement.setLong(1, movie.id()));
+                var saved = new ArrayList<MovieEntity>(added.size());
+                for (int from = 0; from < added.size(); from += batchSize) {
+                    saved.addAll(insert(connection, added.subList(from, Math.min(from + batchSize, added.size()))));
+                }
+                return new MovieReplace(removed, saved);
+            });
+        });
+    }
+
+    @Override
+    public Mono<CatalogLoadClaim> claimCatalogLoad(Duration staleAfter) {
+        return call(() -> {
+            try {
+                jdbcTemplate.update(CatalogLoadMarker.INSERT);
+            } catch (DataIntegrityViolationException e) {
+                // another instance created the marker first
+            }
+            return inTransaction(connection -> {
+                CatalogLoadMarker marker;
+                try (var statement = connection.prepareStatement(CatalogLoadMarker.LOCK);
+                     var row = statement.executeQuery()) {
+                    row.next();
+                    marker = new CatalogLoadMarker(row.getString("status"),
+                        row.getObject("started_at", OffsetDateTime.class),
+                        row.getObject("checked_at", OffsetDateTime.class));
+                }
+                long movies;
+                try (var statement = connection.prepareStatement(CatalogLoadMarker.COUNT_MOVIES);
+                     var row = statement.executeQuery()) {
+                    row.next();
+                    movies = row.getLong(1);
+                }
+                var claim = marker.claim(staleAfter, movies);
+                execute(connection, marker.writes(claim));
+                return claim;
+            });
+        });
+    }
+
+    @Override
+    public Mono<Void> finishCatalogLoad(boolean loaded) {
+        var writes = loaded
+            ? List.of(CatalogLoadMarker.mark(CatalogLoadMarker.READY))
+            : List.of(CatalogLoadMarker.DELETE_MOVIES, CatalogLoadMarker.mark(CatalogLoadMarker.FAILED));
+        return call(() -> inTransaction(connection -> {
+            execute(connection, writes);
+            return writes.size();
+        }))
+            .then();
+    }
+
+    private static void execute(Connection connection, List<String> statements) throws SQLException {
+        try (var statement = connection.createStatement()) {
+            for (String sql : statements) {
+                statement.executeUpdate(sql);
+            }
+        }
+    }
+
+    private <T> T inTransaction(ConnectionCallback<T> work) {
+        return jdbcTemplate.execute((ConnectionCallback<T>) connection -> {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                T result = work.doInConnection(connection);
+                connection.commit();
+                return result;
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        });
+    }
+
+    private List<MovieEntity> insert(Connection connection, List<MovieEntity> movies) throws SQLException {
+        var movieIds = new ArrayList<Long>(movies.size());
+        try (var statement = connection.prepareStatement(INSERT_MOVIE, Statement.RETURN_GENERATED_KEYS)) {
+            for (MovieEntity movie : movies) {
+                bind(statement, movie);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+            try (var keys = statement.getGeneratedKeys()) {
+                while (keys.next()) {
+                    movieIds.add(keys.getLong(1));
+                }
+            }
+        }
+        if (movieIds.size() != movies.size()) {
+            throw new IllegalStateException(
+                "O banco devolveu " + movieIds.size() + " ids para " + movies.size() + " filmes inseridos");
+        }
+
+        linkProducers(connection, movies, movieIds);
+        return MovieBatchRepositoryImpl.withIds(movies, movieIds);
+    }
+
+    private void registerProducers(List<MovieEntity> movies) {
+        var names = producerDictionary.unknownNames(movies);
+        if (names.isEmpty()) {
+            return;
+        }
+
+        for (int attempt = 0; ; attempt++) {
+            try {
+                jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                    executeBatch(connection, INSERT_PRODUCER, names, (statement, name) -> {
+                        statement.setString(1, name);
+                        statement.setString(2, name);
+                    });
+                    return null;
+                });
+                break;
+            } catch (DataIntegrityViolationException e) {
+                if (attempt == MovieBatchRepositoryImpl.PRODUCER_RETRIES) {
+                    throw e;
+                }
+            }
+        }
+        jdbcTemplate.query(SELECT_PRODUCERS + "(" + String.join(", ", Collections.nCopies(names.size(), "?")) + ")",
+            (RowCallbackHandler) row -> producerDictionary.register(row.getInt("id"), row.getString("name")),
+            names.toArray());
+    }
+
+    private void linkProducers(Connection connection, List<MovieEntity> movies, List<Long> movieIds)
+        throws SQLException {
+        var links = new ArrayList<long[]>();
+        for (int i = 0; i < movies.size(); i++) {
+            for (int producerId : producerDictionary.idsOf(movies.get(i).producers())) {
+                links.add(new long[]{movieIds.get(i), producerId});
+            }
+        }
+
+        executeBatch(connection, INSERT_MOVIE_PRODUCER, links, (statement, link) -> {
+            statement.setLong(1, link[0]);
+            statement.setInt(2, (int) link[1]);
+        });
+    }
+
+    private static <T> void executeBatch(Connection connection, String sql, List<T> rows, Binder<T> binder)
+        throws SQLException {
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        try (var statement = connection.prepareStatement(sql)) {
+            for (T row : rows) {
+                binder.bind(statement, row);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+    private static void bind(PreparedStatement statement, MovieEntity movie) throws SQLException {
+        statement.setInt(1, movie.years());
+        statement.setString(2, movie.title());
+        statement.setString(3, movie.studios());
+        statement.setString(4, movie.producers());
+        statement.setBoolean(5, Boolean.TRUE.equals(movie.winner()));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <S extends MovieEntity> Mono<S> save(S entity) {
+        if (entity.id() == null) {
+            return (Mono<S>) insertMovie(entity);
+        }
+        return (Mono<S>) updateMovie(entity)
+            .map(MovieUpdate::updated)
+            .switchIfEmpty(Mono.error(() -> new TransientDataAccessResourceException(
+                "Filme " + entity.id() + " não encontrado para atualização")));
+    }
+
+    @Override
+    public <S extends MovieEntity> Flux<S> saveAll(Iterable<S> entities) {
+        return saveAll(Flux.fromIterable(entities));
+    }
+
+    @Override
+    public <S extends MovieEntity> Flux<S> saveAll(Publisher<S> entityStream) {
+        return Flux.from(entityStream)
+            .concatMap(this::save);
+    }
+
+    @Override
+    public Mono<MovieEntity> findById(Long id) {
+        return call(() -> DataAccessUtils.singleResult(jdbcTemplate.query(SELECT_MOVIE + " WHERE id = ?", MOVIE, id)));
+    }
+
+    @Override
+    public Mono<MovieEntity> findById(Publisher<Long> id) {
+        return Mono.from(id)
+            .flatMap(this::findById);
+    }
+
+    @Override
+    public Mono<Boolean> existsById(Long id) {
+        return findById(id)
+            .hasElement();
+    }
+
+    @Override
+    public Mono<Boolean> existsById(Publisher<Long> id) {
+        return Mono.from(id)
+            .flatMap(this::existsById);
+    }
+
+    /**
+     * Reads the table in pages of {@value #PAGE_SIZE} movies by ascending id.
+     */
+    @Override
+    public Flux<MovieEntity> findAll() {
+        return page(Long.MIN_VALUE)
+            .expand(movies -> movies.size() < PAGE_SIZE ? Mono.empty() : page(movies.getLast().id()))
+            .concatMapIterable(movies -> movies);
+    }
+
+    private Mono<List<MovieEntity>> page(long afterId) {
+        return call(() -> jdbcTemplate.query(SELECT_MOVIE + " WHERE id > ? ORDER BY id LIMIT ?",
+            MOVIE, afterId, PAGE_SIZE));
+    }
+
+    @Override
+    public Flux<MovieEntity> findAllById(Iterable<Long> ids) {
+        return findAllById(Flux.fromIterable(ids));
+    }
+
+    @Override
+    public Flux<MovieEntity> findAllById(Publisher<Long> idStream) {
+        return Flux.from(idStream)
+            .buffer(ID_CHUNK_SIZE)
+            .concatMap(ids -> query(SELECT_MOVIE + " WHERE id IN (" + String.join(", ", Collections.nCopies(
+                ids.size(), "?")) + ")", MOVIE, ids.toArray()));
+    }
+
+    @Override
+    public Mono<Long> count() {
+        return call(() -> jdbcTemplate.queryForObject("SELECT COUNT(*) FROM MOVIE", Long.class));
+    }
+
+    @Override
+    public Mono<Void> deleteById(Long id) {
+        return deleteAllById(Flux.just(id));
+    }
+
+    @Override
+    public Mono<Void> deleteById(Publisher<Long> id) {
+        return deleteAllById(Mono.from(id));
+    }
+
+    @Override
+    public Mono<Void> delete(MovieEntity entity) {
+        return deleteById(entity.id());
+    }
+
+    @Override
+    public Mono<Void> deleteAllById(Iterable<? extends Long> ids) {
+        return deleteAllById(Flux.fromIterable(ids));
+    }
+
+    @Override
+    public Mono<Void> deleteAll(Iterable<? extends MovieEntity> entities) {
+        return deleteAll(Flux.fromIterable(entities));
+    }
+
+    @Override
+    public Mono<Void> deleteAll(Publisher<? extends MovieEntity> entityStream) {
+        return deleteAllById(Flux.from(entityStream)
+            .map(MovieEntity::id));
+    }
+
+    private Mono<Void> deleteAllById(Publisher<? extends Long> ids) {
+        return Flux.from(ids)
+            .buffer(ID_CHUNK_SIZE)
+            .concatMap(chunk -> call(() -> jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+                executeBatch(connection, DELETE_MOVIE, chunk, (statement, movieId) -> statement.setLong(1, movieId));
+                return chunk.size();
+            })))
+            .then();
+    }
+
+    @Override
+    public Mono<Void> deleteAll() {
+        return call(() -> jdbcTemplate.update("DELETE FROM MOVIE"))
+            .then();
+    }
+
+    private <T> Mono<T> call(Callable<T> call) {
+        return Mono.fromCallable(call)
+            .subscribeOn(scheduler);
+    }
+
+    /**
+     * Streams the rows as they are requested, closing the result set when the subscriber completes or cancels.
+     */
+    private <T> Flux<T> query(String sql, RowMapper<T> mapper, Object... args) {
+        return Flux.using(() -> jdbcTemplate.queryForStream(sql, mapper, args), Flux::fromStream, Stream::close)
+            .subscribeOn(scheduler);
+    }
+
+    @Override
+    public void close() {
+        scheduler.dispose();
+    }
+
+    @FunctionalInterface
+    private interface Binder<T> {
+
+        void bind(PreparedStatement statement, T row) throws SQLException;
+    }
+}
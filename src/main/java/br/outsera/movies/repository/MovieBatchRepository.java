@@ -0,0 +1,52 @@
+package br.outsera.movies.repository;
+
+import br.outsera.movies.model.MovieEntity;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+public interface MovieBatchRepository {
+
+    Mono<List<MovieEntity>> insertBatch(List<MovieEntity> movies);
+
+    Mono<MovieEntity> insertMovie(MovieEntity movie);
+
+    /**
+     * Updates the movie and its producer links in one transaction, returning the row it replaced; empty if missing.
+     */
+    Mono<MovieUpdate> updateMovie(MovieEntity movie);
+
+    /**
+     * Locks and deletes the movie in one transaction, returning the row it removed; empty if missing.
+     */
+    Mono<MovieEntity> deleteMovie(Long id);
+
+    /**
+     * Locks and deletes the movies of {@code removedIds} and inserts {@code added} in one transaction.
+     */
+    Mono<MovieReplace> replaceBatch(List<Long> removedIds, List<MovieEntity> added, int batchSize);
+
+    /**
+     * Whether this instance imports the CSV, restores the catalog in the database or waits for another import.
+     */
+    Mono<CatalogLoadClaim> claimCatalogLoad(Duration staleAfter);
+
+    /**
+     * Marks a claimed import as done, or discards its rows when it failed.
+     */
+    Mono<Void> finishCatalogLoad(boolean loaded);
+
+    enum CatalogLoadClaim {
+        LOAD,
+        RESTORE,
+        WAIT
+    }
+
+    record MovieUpdate(MovieEntity previous, MovieEntity updated) {
+    }
+
+    record MovieReplace(List<MovieEntity> removed, List<MovieEntity> added) {
+    }
+
+}
@@ -0,0 +1,327 @@
+package br.outsera.movies.repository;
+
+import br.outsera.movies.model.MovieEntity;
+import br.outsera.movies.model.ProducerDTO;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.R2dbcDataIntegrityViolationException;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.Statement;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+@RequiredArgsConstructor
+public class MovieBatchRepositoryImpl implements MovieBatchRepository {
+
+    static final int PRODUCER_RETRIES = 3;
+
+    private static final String INSERT_MOVIE = """
+        INSERT INTO MOVIE (years, title, studios, producers, winner)
+        VALUES ($1, $2, $3, $4, $5)
+        """;
+
+    private static final String SELECT_MOVIE_FOR_UPDATE = """
+        SELECT id, years, title, studios, producers, winner FROM MOVIE
+        WHERE id = $1
+        FOR UPDATE
+        """;
+
+    private static final String UPDATE_MOVIE = """
+        UPDATE MOVIE SET years = $1, title = $2, studios = $3, producers = $4, winner = $5
+        WHERE id = $6
+        """;
+
+    private static final String DELETE_MOVIE = """
+        DELETE FROM MOVIE WHERE id = $1
+        """;
+
+    private static final String DELETE_MOVIE_PRODUCERS = """
+        DELETE FROM MOVIE_PRODUCER WHERE movie_id = $1
+        """;
+
+    private static final String INSERT_PRODUCER = """
+        INSERT INTO PRODUCER (name)
+        SELECT CAST($1 AS VARCHAR(255))
+        WHERE NOT EXISTS (SELECT 1 FROM PRODUCER WHERE name = $2)
+        """;
+
+    private static final String SELECT_PRODUCERS = """
+        SELECT id, name FROM PRODUCER WHERE name IN (:names)
+        """;
+
+    private static final String INSERT_MOVIE_PRODUCER = """
+        INSERT INTO MOVIE_PRODUCER (movie_id, producer_id)
+        VALUES ($1, $2)
+        """;
+
+    private final DatabaseClient databaseClient;
+    private final ProducerDictionary producerDictionary;
+
+    @Override
+    public Mono<List<MovieEntity>> insertBatch(List<MovieEntity> movies) {
+        if (movies.isEmpty()) {
+            return Mono.just(List.of());
+        }
+
+        return registerProducers(movies)
+            .then(databaseClient.inConnection(connection -> inTransaction(connection, () ->
+                insert(connection, movies))))
+            .map(movieIds -> withIds(movies, movieIds));
+    }
+
+    @Override
+    public Mono<MovieEntity> insertMovie(MovieEntity movie) {
+        return registerProducers(List.of(movie))
+            .then(databaseClient.inConnection(connection -> inTransaction(connection, () ->
+                insert(connection, List.of(movie)))))
+            .map(movieIds -> withId(movie, movieIds.getFirst()));
+    }
+
+    static List<MovieEntity> withIds(List<MovieEntity> movies, List<Long> movieIds) {
+        var saved = new ArrayList<MovieEntity>(movies.size());
+        for (int i = 0; i < movies.size(); i++) {
+            saved.add(withId(movies.get(i), movieIds.get(i)));
+        }
+        return saved;
+    }
+
+    private static MovieEntity withId(MovieEntity movie, Long id) {
+        return MovieEntity.builder()
+            .id(id)
+            .years(movie.years())
+            .title(movie.title())
+            .studios(movie.studios())
+            .producers(movie.producers())
+            .winner(movie.winner())
+            .build();
+    }
+
+    @Override
+    public Mono<MovieUpdate> updateMovie(MovieEntity movie) {
+        return registerProducers(List.of(movie))
+            .then(databaseClient.inConnection(connection -> inTransaction(connection, () -> lock(connection, movie.id())
+                .flatMap(previous -> {
+                    var statement = connection.createStatement(UPDATE_MOVIE);
+                    bind(statement, movie);
+                    statement.bind(5, movie.id());
+
+                    return Flux.from(statement.execute())
+                        .flatMap(Result::getRowsUpdated)
+                        .thenMany(Flux.defer(() -> connection.createStatement(DELETE_MOVIE_PRODUCERS)
+                            .bind(0, movie.id())
+                            .execute()))
+                        .flatMap(Result::getRowsUpdated)
+                        .then(Mono.defer(() -> linkProducers(connection, List.of(movie), List.of(movie.id()))))
+                        .thenReturn(new MovieUpdate(previous, movie));
+                }))));
+    }
+
+    @Override
+    public Mono<MovieEntity> deleteMovie(Long id) {
+        return databaseClient.inConnection(connection -> inTransaction(connection, () -> lock(connection, id)
+            .flatMap(movie -> Flux.from(connection.createStatement(DELETE_MOVIE)
+                    .bind(0, id)
+                    .execute())
+                .flatMap(Result::getRowsUpdated)
+                .reduce(0L, Long::sum)
+                .filter(deleted -> deleted > 0)
+                .map(deleted -> movie))));
+    }
+
+    private static Mono<MovieEntity> lock(Connection connection, Long id) {
+        return lock(connection, List.of(id))
+            .next();
+    }
+
+    private static Flux<MovieEntity> lock(Connection connection, List<Long> ids) {
+        if (ids.isEmpty()) {
+            return Flux.empty();
+        }
+
+        var statement = connection.createStatement(SELECT_MOVIE_FOR_UPDATE);
+        for (int i = 0; i < ids.size(); i++) {
+            if (i > 0) {
+                statement.add();
+            }
+            statement.bind(0, ids.get(i));
+        }
+        return Flux.from(statement.execute())
+            .concatMap(result -> result.map((row, metadata) -> movie(row)));
+    }
+
+    @Override
+    public Mono<MovieReplace> replaceBatch(List<Long> removedIds, List<MovieEntity> added, int batchSize) {
+        return registerProducers(added)
+            .then(databaseClient.inConnection(connection -> inTransaction(connection, () -> lock(connection, removedIds)
+                .collectList()
+                .flatMap(removed -> executeBatch(connection, DELETE_MOVIE, removed, (statement, movie) -> statement
+                        .bind(0, movie.id()))
+                    .thenMany(Flux.fromIterable(added)
+                        .buffer(batchSize)
+                        .concatMap(batch -> insert(connection, batch)
+                            .flatMapIterable(movieIds -> withIds(batch, movieIds))))
+                    .collectList()
+                    .map(saved -> new MovieReplace(removed, saved))))));
+    }
+
+    @Override
+    public Mono<CatalogLoadClaim> claimCatalogLoad(Duration staleAfter) {
+        return databaseClient.sql(CatalogLoadMarker.INSERT)
+            .fetch()
+            .rowsUpdated()
+            .onErrorResume(MovieBatchRepositoryImpl::isConflict, error -> Mono.just(0L))
+            .then(databaseClient.inConnection(connection -> inTransaction(connection, () -> Flux.from(connection
+                    .createStatement(CatalogLoadMarker.LOCK)
+                    .execute())
+                .concatMap(result -> result.map((row, metadata) -> new CatalogLoadMarker(
+                    row.get("status", String.class),
+                    row.get("started_at", OffsetDateTime.class),
+                    row.get("checked_at", OffsetDateTime.class))))
+                .single()
+                .flatMap(marker -> Flux.from(connection.createStatement(CatalogLoadMarker.COUNT_MOVIES).execute())
+                    .concatMap(result -> result.map((row, metadata) -> row.get(0, Long.class)))
+                    .single()
+                    .flatMap(movies -> {
+                        var claim = marker.claim(staleAfter, movies);
+                        return execute(connection, marker.writes(claim))
+                            .thenReturn(claim);
+                    })))));
+    }
+
+    @Override
+    public Mono<Void> finishCatalogLoad(boolean loaded) {
+        var writes = loaded
+            ? List.of(CatalogLoadMarker.mark(CatalogLoadMarker.READY))
+            : List.of(CatalogLoadMarker.DELETE_MOVIES, CatalogLoadMarker.mark(CatalogLoadMarker.FAILED));
+        return databaseClient.inConnection(connection -> inTransaction(connection, () -> execute(connection, writes)));
+    }
+
+    private static Mono<Void> execute(Connection connection, List<String> statements) {
+        return Flux.fromIterable(statements)
+            .concatMap(sql -> Flux.from(connection.createStatement(sql).execute())
+                .flatMap(Result::getRowsUpdated))
+            .then();
+    }
+
+    private static <T> Mono<T> inTransaction(Connection connection, Supplier<Mono<T>> work) {
+        return Mono.from(connection.beginTransaction())
+            .then(Mono.defer(work))
+            .singleOptional()
+            .flatMap(result -> Mono.from(connection.commitTransaction())
+                .then(Mono.justOrEmpty(result)))
+            .onErrorResume(error -> Mono.from(connection.rollbackTransaction())
+                .then(Mono.<T>error(error)));
+    }
+
+    private static MovieEntity movie(Row row) {
+        return MovieEntity.builder()
+            .id(row.get("id", Long.class))
+            .years(row.get("years", Integer.class))
+            .title(row.get("title", String.class))
+            .studios(row.get("studios", String.class))
+            .producers(row.get("producers", String.class))
+            .winner(row.get("winner", Boolean.class))
+            .build();
+    }
+
+    private Mono<List<Long>> insert(Connection connection, List<MovieEntity> movies) {
+        var statement = connection.createStatement(INSERT_MOVIE).returnGeneratedValues();
+        for (int i = 0; i < movies.size(); i++) {
+            if (i > 0) {
+                statement.add();
+            }
+            bind(statement, movies.get(i));
+        }
+
+        return Flux.from(statement.execute())
+            .concatMap(result -> result.map((row, metadata) -> row.get(0, Long.class)))
+            .collectList()
+            .flatMap(movieIds -> linkProducers(connection, movies, movieIds)
+                .thenReturn(movieIds));
+    }
+
+    private Mono<Void> registerProducers(List<MovieEntity> movies) {
+        return Mono.defer(() -> {
+            var names = producerDictionary.unknownNames(movies);
+            if (names.isEmpty()) {
+                return Mono.empty();
+            }
+
+            return databaseClient.inConnection(connection -> executeBatch(connection, INSERT_PRODUCER, names,
+                    (statement, name) -> statement
+                        .bind(0, name)
+                        .bind(1, name)))
+                .retryWhen(Retry.max(PRODUCER_RETRIES).filter(MovieBatchRepositoryImpl::isConflict))
+                .thenMany(databaseClient.sql(SELECT_PRODUCERS)
+                    .bind("names", names)
+                    .map(row -> new ProducerDTO(row.get("id", Integer.class), row.get("name", String.class)))
+                    .all())
+                .doOnNext(producer -> producerDictionary.register(producer.id(), producer.name()))
+                .then();
+        });
+    }
+
+    private static boolean isConflict(Throwable error) {
+        return error instanceof DataIntegrityViolationException
+            || error instanceof R2dbcDataIntegrityViolationException;
+    }
+
+    private Mono<Void> linkProducers(Connection connection, List<MovieEntity> movies, List<Long> movieIds) {
+        var links = new ArrayList<long[]>();
+        for (int i = 0; i < movies.size(); i++) {
+            for (int producerId : producerDictionary.idsOf(movies.get(i).producers())) {
+                links.add(new long[]{movieIds.get(i), producerId});
+            }
+        }
+
+        return executeBatch(connection, INSERT_MOVIE_PRODUCER, links, (statement, link) -> statement
+                .bind(0, link[0])
+                .bind(1, (int) link[1]))
+            .then();
+    }
+
+    private static <T> Mono<Long> executeBatch(Connection connection, String sql, List<T> rows,
+                                               BiConsumer<Statement, T> binder) {
+        if (rows.isEmpty()) {
+            return Mono.just(0L);
+        }
+
+        var statement = connection.createStatement(sql);
+        for (int i = 0; i < rows.size(); i++) {
+            if (i > 0) {
+                statement.add();
+            }
+            binder.accept(statement, rows.get(i));
+        }
+        return Flux.from(statement.execute())
+            .flatMap(Result::getRowsUpdated)
+            .reduce(0L, Long::sum);
+    }
+
+    private static void bind(Statement statement, MovieEntity movie) {
+        statement.bind(0, movie.years());
+        bindString(statement, 1, movie.title());
+        bindString(statement, 2, movie.studios());
+        bindString(statement, 3, movie.producers());
+        statement.bind(4, Boolean.TRUE.equals(movie.winner()));
+    }
+
+    private static void bindString(Statement statement, int index, String value) {
+        if (value == null) {
+            statement.bindNull(index, String.class);
+        } else {
+            statement.bind(index, value);
+        }
+    }
+}
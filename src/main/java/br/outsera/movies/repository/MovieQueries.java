@@ -0,0 +1,54 @@
+package br.outsera.movies.repository;
+
+/**
+ * Read queries shared by both persistence modes.
+ */
+final class MovieQueries {
+
+    static final String PRODUCER_WINS = """
+        SELECT mp.producer_id, m.years FROM MOVIE m
+        JOIN MOVIE_PRODUCER mp ON mp.movie_id = m.id
+        WHERE m.winner = TRUE
+        ORDER BY m.years;
+        """;
+
+    static final String PRODUCER_WINS_WITH_STUDIOS = """
+        SELECT mp.producer_id, m.years, m.studios FROM MOVIE m
+        JOIN MOVIE_PRODUCER mp ON mp.movie_id = m.id
+        WHERE m.winner = TRUE
+        ORDER BY mp.producer_id, m.years;
+        """;
+
+    static final String AWARD_INTERVAL_EXTREMES = """
+        WITH INTERVALS AS (
+            SELECT mp.producer_id,
+                LAG(m.years) OVER (PARTITION BY mp.producer_id ORDER BY m.years) AS previous_win,
+                m.years AS following_win
+            FROM MOVIE m
+            JOIN MOVIE_PRODUCER mp ON mp.movie_id = m.id
+            WHERE m.winner = TRUE
+        ), BOUNDS AS (
+            SELECT MIN(following_win - previous_win) AS min_gap, MAX(following_win - previous_win) AS max_gap
+            FROM INTERVALS
+            WHERE previous_win IS NOT NULL
+        )
+        SELECT 'min' AS kind, p.name AS producers, i.previous_win, i.following_win
+        FROM INTERVALS i
+        JOIN BOUNDS b ON i.following_win - i.previous_win = b.min_gap
+        JOIN PRODUCER p ON p.id = i.producer_id
+        UNION ALL
+        SELECT 'max' AS kind, p.name AS producers, i.previous_win, i.following_win
+        FROM INTERVALS i
+        JOIN BOUNDS b ON i.following_win - i.previous_win = b.max_gap
+        JOIN PRODUCER p ON p.id = i.producer_id
+        ORDER BY kind, producers, previous_win, following_win;
+        """;
+
+    static final String PRODUCERS = """
+        SELECT id, name FROM PRODUCER
+        ORDER BY id;
+        """;
+
+    private MovieQueries() {
+    }
+}
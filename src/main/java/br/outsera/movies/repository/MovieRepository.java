@@ -1,19 +1,31 @@
 package br.outsera.movies.repository;
 
+import br.outsera.movies.model.AwardIntervalExtremeDTO;
 import br.outsera.movies.model.MovieEntity;
+import br.outsera.movies.model.ProducerDTO;
+import br.outsera.movies.model.ProducerWinDTO;
+import br.outsera.movies.model.ProducerWinStudioDTO;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 
 @Repository
-public interface MovieRepository extends ReactiveCrudRepository<MovieEntity, Long> {
+public interface MovieRepository extends ReactiveCrudRepository<MovieEntity, Long>, MovieBatchRepository {
 
-    @Query(value = """
-        SELECT * from MOVIE
-        WHERE winner = TRUE
-        ORDER BY years;
-        """)
-    Flux<MovieEntity> getMovieAwardsResult();
+    @Query(MovieQueries.PRODUCER_WINS)
+    Flux<ProducerWinDTO> getMovieAwardsResult();
+
+    @Query(MovieQueries.PRODUCER_WINS_WITH_STUDIOS)
+    Flux<ProducerWinStudioDTO> getProducerWinsWithStudios();
+
+    /**
+     * Only the intervals tied at the smallest and the largest value.
+     */
+    @Query(MovieQueries.AWARD_INTERVAL_EXTREMES)
+    Flux<AwardIntervalExtremeDTO> getAwardIntervalExtremes();
+
+    @Query(MovieQueries.PRODUCERS)
+    Flux<ProducerDTO> getProducers();
 
 }
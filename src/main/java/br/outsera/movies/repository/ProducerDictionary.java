@@ -0,0 +1,101 @@
+package br.outsera.movies.repository;
+
+import br.outsera.movies.model.MovieEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+@Component
+public class ProducerDictionary {
+
+    private static final Pattern SEPARATOR = Pattern.compile("\\s*,\\s*(?:and\\s+)?|\\s+and\\s+");
+    private static final int[] NO_PRODUCERS = new int[0];
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private volatile String[] names = new String[256];
+    private int size;
+
+    public static String[] split(String producers) {
+        if (producers == null || producers.isBlank()) {
+            return new String[0];
+        }
+
+        return Arrays.stream(SEPARATOR.split(producers.strip()))
+            .map(String::strip)
+            .filter(name -> !name.isEmpty())
+            .distinct()
+            .toArray(String[]::new);
+    }
+
+    public List<String> unknownNames(List<MovieEntity> movies) {
+        var unknown = new LinkedHashSet<String>();
+        for (MovieEntity movie : movies) {
+            for (String name : split(movie.producers())) {
+                if (!ids.containsKey(name)) {
+                    unknown.add(name);
+                }
+            }
+        }
+        return new ArrayList<>(unknown);
+    }
+
+    public int[] idsOf(String producers) {
+        var producerNames = split(producers);
+        if (producerNames.length == 0) {
+            return NO_PRODUCERS;
+        }
+
+        var producerIds = new int[producerNames.length];
+        for (int i = 0; i < producerNames.length; i++) {
+            var id = ids.get(producerNames[i]);
+            if (id == null) {
+                throw new IllegalStateException("Produtor não registrado: " + producerNames[i]);
+            }
+            producerIds[i] = id;
+        }
+        return producerIds;
+    }
+
+    /**
+     * Ids of the producers already registered, skipping the names this instance has never seen.
+     */
+    public int[] knownIdsOf(String producers) {
+        return Arrays.stream(split(producers))
+            .map(ids::get)
+            .filter(Objects::nonNull)
+            .mapToInt(Integer::intValue)
+            .toArray();
+    }
+
+    /**
+     * Maps {@code name} to the id the {@code PRODUCER} table gave it.
+     */
+    public synchronized void register(int id, String name) {
+        while (id >= names.length) {
+            names = Arrays.copyOf(names, names.length << 1);
+        }
+        names[id] = name;
+        size = Math.max(size, id + 1);
+        ids.put(name, id);
+    }
+
+    public int idOf(String name) {
+        var id = ids.get(name.strip());
+        return id == null ? -1 : id;
+    }
+
+    public String name(int id) {
+        return names[id];
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+}
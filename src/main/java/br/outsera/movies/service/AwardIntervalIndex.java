@@ -0,0 +1,668 @@
+package br.outsera.movies.service;
+
+import br.outsera.movies.model.MovieAwardsResultDTO;
+import br.outsera.movies.model.MovieAwardsResultResponseDTO;
+import br.outsera.movies.model.MovieEntity;
+import br.outsera.movies.model.ProducerAwardsDTO;
+import br.outsera.movies.model.ProducerWinDTO;
+import br.outsera.movies.repository.ProducerDictionary;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Award intervals kept in primitive arrays indexed by producer id.
+ */
+@Component
+@RequiredArgsConstructor
+public class AwardIntervalIndex {
+
+    private static final MovieAwardsResultResponseDTO EMPTY_RESULT = MovieAwardsResultResponseDTO.builder()
+        .min(List.of())
+        .max(List.of())
+        .build();
+    private static final int[] EMPTY_YEARS = new int[0];
+
+    /**
+     * Rebuilds below this many wins stay on the calling thread.
+     */
+    static final int PARALLEL_THRESHOLD = 1 << 16;
+    static final int SHARDS = 64;
+
+    private final ProducerDictionary producerDictionary;
+
+    private final IntervalBuckets minIntervals = new IntervalBuckets();
+    private final IntervalBuckets maxIntervals = new IntervalBuckets();
+    private final Sinks.Many<Published> updates = Sinks.many().replay().latest();
+    private int[][] winsByProducer = new int[0][];
+    private YearRangeIntervals yearRanges;
+    private boolean yearRangesUnavailable;
+
+    private volatile Published published = new Published(0, Instant.now(), EMPTY_RESULT);
+    private volatile boolean loaded;
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public MovieAwardsResultResponseDTO getResult() {
+        return published.result();
+    }
+
+    public Published getPublished() {
+        return published;
+    }
+
+    /**
+     * Shortest and longest intervals among those within {@code [fromYear, toYear]}.
+     */
+    public synchronized MovieAwardsResultResponseDTO getResult(int fromYear, int toYear) {
+        if (yearRanges == null && !yearRangesUnavailable) {
+            yearRanges = YearRangeIntervals.of(winsByProducer);
+            yearRangesUnavailable = yearRanges == null;
+        }
+
+        var min = windowIntervals(true, fromYear, toYear);
+        return min.isEmpty() ? EMPTY_RESULT : MovieAwardsResultResponseDTO.builder()
+            .min(min)
+            .max(windowIntervals(false, fromYear, toYear))
+            .build();
+    }
+
+    private List<MovieAwardsResultDTO> windowIntervals(boolean lowest, int fromYear, int toYear) {
+        var ties = new ArrayList<int[]>();
+        IntervalConsumer collector = (producerId, previousWin, followingWin) ->
+            ties.add(new int[] {producerId, previousWin, followingWin});
+        if (yearRanges != null) {
+            yearRanges.forEachExtreme(lowest, fromYear, toYear, collector);
+        } else {
+            scanExtreme(lowest, fromYear, toYear, collector);
+        }
+
+        ties.sort(Comparator.<int[]>comparingInt(tie -> tie[0]).thenComparingInt(tie -> tie[1]));
+        return ties.stream()
+            .map(tie -> MovieAwardsResultDTO.builder()
+                .producers(producerDictionary.name(tie[0]))
+                .previousWin(tie[1])
+                .followingWin(tie[2])
+                .interval(tie[2] - tie[1])
+                .build())
+            .toList();
+    }
+
+    private void scanExtreme(boolean lowest, int fromYear, int toYear, IntervalConsumer consumer) {
+        int extreme = lowest ? Integer.MAX_VALUE : Integer.MIN_VALUE;
+        boolean found = false;
+        for (var years : winsByProducer) {
+            for (int i = 1; years != null && i < years.length; i++) {
+                if (years[i - 1] >= fromYear && years[i] <= toYear) {
+                    int interval = years[i] - years[i - 1];
+                    extreme = lowest ? Math.min(extreme, interval) : Math.max(extreme, interval);
+                    found = true;
+                }
+            }
+        }
+        if (!found) {
+            return;
+        }
+
+        for (int producerId = 0; producerId < winsByProducer.length; producerId++) {
+            var years = winsByProducer[producerId];
+            for (int i = 1; years != null && i < years.length; i++) {
+                if (years[i - 1] >= fromYear && years[i] <= toYear && years[i] - years[i - 1] == extreme) {
+                    consumer.accept(producerId, years[i - 1], years[i]);
+                }
+            }
+        }
+    }
+
+    public String producerName(int producerId) {
+        return producerDictionary.name(producerId);
+    }
+
+    public synchronized void forEachInterval(IntervalConsumer consumer) {
+        for (int producerId = 0; producerId < winsByProducer.length; producerId++) {
+            var years = winsByProducer[producerId];
+            if (years != null) {
+                for (int i = 1; i < years.length; i++) {
+                    consumer.accept(producerId, years[i - 1], years[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Wins and intervals of one producer, read straight from its row of the index; {@code null} for an unknown name.
+     */
+    public synchronized ProducerAwardsDTO producerAwards(String name) {
+        int producerId = producerDictionary.idOf(name);
+        if (producerId < 0) {
+            return null;
+        }
+
+        var years = producerId < winsByProducer.length && winsByProducer[producerId] != null
+            ? winsByProducer[producerId]
+            : EMPTY_YEARS;
+        var intervals = new ArrayList<MovieAwardsResultDTO>(Math.max(0, years.length - 1));
+        for (int i = 1; i < years.length; i++) {
+            intervals.add(MovieAwardsResultDTO.builder()
+                .producers(producerDictionary.name(producerId))
+                .previousWin(years[i - 1])
+                .followingWin(years[i])
+                .interval(years[i] - years[i - 1])
+                .build());
+        }
+        return ProducerAwardsDTO.builder()
+            .producer(producerDictionary.name(producerId))
+            .wins(Arrays.stream(years).boxed().toList())
+            .intervals(List.copyOf(intervals))
+            .build();
+    }
+
+    public void registerProducer(int producerId, String name) {
+        producerDictionary.register(producerId, name);
+    }
+
+    public int producerId(String name) {
+        return producerDictionary.idOf(name);
+    }
+
+    public Flux<Published> updates() {
+        return updates.asFlux();
+    }
+
+    /**
+     * Fills {@code page} with the intervals that follow its last position.
+     */
+    synchronized void fillPage(IntervalPage page, int producerId, int fromYear, int toYear) {
+        page.size = 0;
+        int firstProducer = producerId >= 0 ? producerId : Math.max(0, page.lastProducerId);
+        int lastProducer = producerId >= 0 ? Math.min(producerId, winsByProducer.length - 1) : winsByProducer.length - 1;
+
+        for (int current = firstProducer; current <= lastProducer; current++) {
+            var years = winsByProducer[current];
+            if (years == null || current < page.lastProducerId) {
+                continue;
+            }
+
+            int position = 1;
+            if (current == page.lastProducerId) {
+                position = firstPairFrom(years, page.lastPreviousWin, page.lastFollowingWin);
+                for (int skipped = 0; skipped < page.lastOccurrence && position < years.length
+                    && page.isLast(current, years[position - 1], years[position]); skipped++) {
+                    position++;
+                }
+            }
+            for (; position < years.length && years[position] <= toYear; position++) {
+                if (years[position - 1] < fromYear) {
+                    continue;
+                }
+                if (page.isFull()) {
+                    return;
+                }
+                page.add(current, years[position - 1], years[position]);
+            }
+        }
+        page.exhausted = true;
+    }
+
+    /**
+     * Index of the first consecutive pair not before {@code (previousWin, followingWin)}.
+     */
+    private static int firstPairFrom(int[] years, int previousWin, int followingWin) {
+        int low = 1;
+        int high = years.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            int previous = years[middle - 1];
+            if (previous < previousWin || previous == previousWin && years[middle] < followingWin) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    public void rebuild(Iterable<ProducerWinDTO> wins) {
+        var buffer = new Wins();
+        for (ProducerWinDTO win : wins) {
+            buffer.add(win);
+        }
+        rebuild(buffer);
+    }
+
+    public void rebuild(Wins wins) {
+        rebuild(wins, wins.size < PARALLEL_THRESHOLD ? 1 : SHARDS);
+    }
+
+    synchronized void rebuild(Wins wins, int shards) {
+        int producers = 0;
+        for (int i = 0; i < wins.size; i++) {
+            producers = Math.max(producers, wins.producerIds[i] + 1);
+        }
+
+        var winCounts = new int[producers];
+        for (int i = 0; i < wins.size; i++) {
+            winCounts[wins.producerIds[i]]++;
+        }
+
+        var table = new int[producers][];
+        for (int producerId = 0; producerId < producers; producerId++) {
+            if (winCounts[producerId] > 0) {
+                table[producerId] = new int[winCounts[producerId]];
+            }
+        }
+        for (int i = 0; i < wins.size; i++) {
+            int producerId = wins.producerIds[i];
+            table[producerId][--winCounts[producerId]] = wins.years[i];
+        }
+
+        var minByProducer = new int[producers];
+        var maxByProducer = new int[producers];
+        IntStream.range(0, shards)
+            .parallel()
+            .forEach(shard -> computeShard(table, shard, shards, minByProducer, maxByProducer));
+
+        winsByProducer = table;
+        yearRanges = null;
+        yearRangesUnavailable = false;
+        minIntervals.clear(producers);
+        maxIntervals.clear(producers);
+        for (int producerId = 0; producerId < producers; producerId++) {
+            if (table[producerId] != null && table[producerId].length > 1) {
+                minIntervals.attach(producerId, minByProducer[producerId]);
+                maxIntervals.attach(producerId, maxByProducer[producerId]);
+            }
+        }
+
+        loaded = true;
+        publish();
+    }
+
+    /**
+     * Sorts the wins and finds the extremes of the producers in {@code shard}.
+     */
+    private static void computeShard(int[][] table, int shard, int shards, int[] minByProducer, int[] maxByProducer) {
+        for (int producerId = shard; producerId < table.length; producerId += shards) {
+            var years = table[producerId];
+            if (years == null) {
+                continue;
+            }
+
+            Arrays.sort(years);
+            int min = Integer.MAX_VALUE;
+            int max = Integer.MIN_VALUE;
+            for (int i = 1; i < years.length; i++) {
+                int interval = years[i] - years[i - 1];
+                min = Math.min(min, interval);
+                max = Math.max(max, interval);
+            }
+            minByProducer[producerId] = min;
+            maxByProducer[producerId] = max;
+        }
+    }
+
+    public void add(MovieEntity movie) {
+        apply(List.of(), List.of(movie));
+    }
+
+    public void addAll(Collection<MovieEntity> movies) {
+        apply(List.of(), movies);
+    }
+
+    public void remove(MovieEntity movie) {
+        apply(List.of(movie), List.of());
+    }
+
+    public void replace(MovieEntity previous, MovieEntity current) {
+        apply(List.of(previous), List.of(current));
+    }
+
+    public void replaceAll(Collection<MovieEntity> removed, Collection<MovieEntity> added) {
+        apply(removed, added);
+    }
+
+    /**
+     * Applies removed and added movies in one step.
+     */
+    private synchronized void apply(Collection<MovieEntity> removed, Collection<MovieEntity> added) {
+        boolean changed = false;
+        for (MovieEntity movie : removed) {
+            if (isWinner(movie)) {
+                for (int producerId : producerDictionary.knownIdsOf(movie.producers())) {
+                    removeWin(producerId, movie.years());
+                }
+                changed = true;
+            }
+        }
+        for (MovieEntity movie : added) {
+            if (isWinner(movie)) {
+                for (int producerId : producerDictionary.idsOf(movie.producers())) {
+                    addWin(producerId, movie.years());
+                }
+                changed = true;
+            }
+        }
+        if (changed) {
+            publish();
+        }
+    }
+
+    private static boolean isWinner(MovieEntity movie) {
+        return Boolean.TRUE.equals(movie.winner());
+    }
+
+    private void addWin(int producerId, int year) {
+        if (producerId >= winsByProducer.length) {
+            winsByProducer = Arrays.copyOf(winsByProducer, Math.max(producerId + 1, winsByProducer.length << 1));
+        }
+
+        var years = winsByProducer[producerId] == null ? EMPTY_YEARS : winsByProducer[producerId];
+        int position = Arrays.binarySearch(years, year);
+        if (position < 0) {
+            position = -position - 1;
+        }
+        if (yearRanges != null && !yearRanges.insert(producerId, years, position, year)) {
+            yearRanges = null;
+        }
+
+        var updated = new int[years.length + 1];
+        System.arraycopy(years, 0, updated, 0, position);
+        updated[position] = year;
+        System.arraycopy(years, position, updated, position + 1, years.length - position);
+
+        winsByProducer[producerId] = updated;
+        refreshExtremes(producerId, updated);
+    }
+
+    private void removeWin(int producerId, int year) {
+        var years = producerId < winsByProducer.length ? winsByProducer[producerId] : null;
+        if (years == null) {
+            return;
+        }
+
+        int position = Arrays.binarySearch(years, year);
+        if (position < 0) {
+            return;
+        }
+        if (yearRanges != null) {
+            yearRanges.delete(producerId, years, position);
+        }
+
+        var updated = new int[years.length - 1];
+        System.arraycopy(years, 0, updated, 0, position);
+        System.arraycopy(years, position + 1, updated, position, updated.length - position);
+
+        winsByProducer[producerId] = updated.length == 0 ? null : updated;
+        refreshExtremes(producerId, updated);
+    }
+
+    private void refreshExtremes(int producerId, int[] years) {
+        minIntervals.detach(producerId);
+        maxIntervals.detach(producerId);
+        registerExtremes(producerId, years);
+    }
+
+    private void registerExtremes(int producerId, int[] years) {
+        if (years.length < 2) {
+            return;
+        }
+
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        for (int i = 1; i < years.length; i++) {
+            int interval = years[i] - years[i - 1];
+            if (interval < min) {
+                min = interval;
+            }
+            if (interval > max) {
+                max = interval;
+            }
+        }
+
+        minIntervals.attach(producerId, min);
+        maxIntervals.attach(producerId, max);
+    }
+
+    private void publish() {
+        var result = minIntervals.isEmpty() ? EMPTY_RESULT : MovieAwardsResultResponseDTO.builder()
+            .min(collectIntervals(minIntervals, minIntervals.lowest()))
+            .max(collectIntervals(maxIntervals, maxIntervals.highest()))
+            .build();
+        published = new Published(published.version() + 1, Instant.now(), result);
+        updates.tryEmitNext(published);
+    }
+
+    private List<MovieAwardsResultDTO> collectIntervals(IntervalBuckets buckets, int interval) {
+        var results = new ArrayList<MovieAwardsResultDTO>();
+        for (int producerId : buckets.producersAt(interval)) {
+            var years = winsByProducer[producerId];
+            for (int i = 1; i < years.length; i++) {
+                if (years[i] - years[i - 1] == interval) {
+                    results.add(MovieAwardsResultDTO.builder()
+                        .producers(producerDictionary.name(producerId))
+                        .previousWin(years[i - 1])
+                        .followingWin(years[i])
+                        .interval(interval)
+                        .build());
+                }
+            }
+        }
+        return List.copyOf(results);
+    }
+
+    /**
+     * Result as of a given catalog version; the version is bumped on every rebuild and winner change.
+     */
+    public record Published(long version, Instant publishedAt, MovieAwardsResultResponseDTO result) {
+    }
+
+    @FunctionalInterface
+    public interface IntervalConsumer {
+
+        void accept(int producerId, int previousWin, int followingWin);
+    }
+
+    /**
+     * Growable pair of {@code int} columns used to feed {@link #rebuild(Wins)} without keeping one object per win.
+     */
+    public static final class Wins {
+
+        private int[] producerIds = new int[1024];
+        private int[] years = new int[1024];
+        private int size;
+
+        public void add(ProducerWinDTO win) {
+            add(win.producerId(), win.years());
+        }
+
+        public void add(int producerId, int year) {
+            if (size == years.length) {
+                producerIds = Arrays.copyOf(producerIds, size << 1);
+                years = Arrays.copyOf(years, size << 1);
+            }
+            producerIds[size] = producerId;
+            years[size] = year;
+            size++;
+        }
+
+        public int size() {
+            return size;
+        }
+    }
+
+    /**
+     * Producers grouped by interval in intrusive doubly-linked lists.
+     */
+    private static final class IntervalBuckets {
+
+        private static final int NONE = -1;
+
+        private int[] intervals;
+        private int[] heads;
+        private int usedSlots;
+        private int[] next;
+        private int[] previous;
+        private int[] intervalOf;
+        private int attached;
+        private int lowest;
+        private int highest;
+
+        IntervalBuckets() {
+            clear(0);
+        }
+
+        void clear(int producers) {
+            intervals = new int[16];
+            heads = new int[16];
+            Arrays.fill(intervals, NONE);
+            usedSlots = 0;
+            next = new int[producers];
+            previous = new int[producers];
+            intervalOf = new int[producers];
+            Arrays.fill(intervalOf, NONE);
+            attached = 0;
+        }
+
+        boolean isEmpty() {
+            return attached == 0;
+        }
+
+        int lowest() {
+            return lowest;
+        }
+
+        int highest() {
+            return highest;
+        }
+
+        void attach(int producerId, int interval) {
+            if (producerId >= intervalOf.length) {
+                growProducers(producerId + 1);
+            }
+
+            int slot = slotOf(interval);
+            if (intervals[slot] == NONE) {
+                intervals[slot] = interval;
+                heads[slot] = NONE;
+                if (++usedSlots << 1 > intervals.length) {
+                    rehash();
+                    slot = slotOf(interval);
+                }
+            }
+
+            int head = heads[slot];
+            next[producerId] = head;
+            previous[producerId] = NONE;
+            if (head != NONE) {
+                previous[head] = producerId;
+            }
+            heads[slot] = producerId;
+            intervalOf[producerId] = interval;
+
+            if (attached++ == 0) {
+                lowest = interval;
+                highest = interval;
+            } else {
+                lowest = Math.min(lowest, interval);
+                highest = Math.max(highest, interval);
+            }
+        }
+
+        void detach(int producerId) {
+            if (producerId >= intervalOf.length || intervalOf[producerId] == NONE) {
+                return;
+            }
+
+            int interval = intervalOf[producerId];
+            int slot = slotOf(interval);
+            int before = previous[producerId];
+            int after = next[producerId];
+            if (before == NONE) {
+                heads[slot] = after;
+            } else {
+                next[before] = after;
+            }
+            if (after != NONE) {
+                previous[after] = before;
+            }
+            intervalOf[producerId] = NONE;
+            attached--;
+
+            if (attached > 0 && heads[slot] == NONE && (interval == lowest || interval == highest)) {
+                rescanBounds();
+            }
+        }
+
+        int[] producersAt(int interval) {
+            int head = heads[slotOf(interval)];
+            int count = 0;
+            for (int producerId = head; producerId != NONE; producerId = next[producerId]) {
+                count++;
+            }
+
+            var producers = new int[count];
+            int i = 0;
+            for (int producerId = head; producerId != NONE; producerId = next[producerId]) {
+                producers[i++] = producerId;
+            }
+            Arrays.sort(producers);
+            return producers;
+        }
+
+        private int slotOf(int interval) {
+            int mask = intervals.length - 1;
+            int hash = interval * 0x9E3779B9;
+            int slot = (hash ^ hash >>> 16) & mask;
+            while (intervals[slot] != NONE && intervals[slot] != interval) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private void rehash() {
+            var oldIntervals = intervals;
+            var oldHeads = heads;
+            intervals = new int[oldIntervals.length << 1];
+            heads = new int[oldIntervals.length << 1];
+            Arrays.fill(intervals, NONE);
+            for (int i = 0; i < oldIntervals.length; i++) {
+                if (oldIntervals[i] != NONE) {
+                    int slot = slotOf(oldIntervals[i]);
+                    intervals[slot] = oldIntervals[i];
+                    heads[slot] = oldHeads[i];
+                }
+            }
+        }
+
+        private void rescanBounds() {
+            lowest = Integer.MAX_VALUE;
+            highest = Integer.MIN_VALUE;
+            for (int slot = 0; slot < intervals.length; slot++) {
+                if (intervals[slot] != NONE && heads[slot] != NONE) {
+                    lowest = Math.min(lowest, intervals[slot]);
+                    highest = Math.max(highest, intervals[slot]);
+                }
+            }
+        }
+
+        private void growProducers(int minimum) {
+            int capacity = Math.max(minimum, intervalOf.length << 1);
+            int previousLength = intervalOf.length;
+            next = Arrays.copyOf(next, capacity);
+            previous = Arrays.copyOf(previous, capacity);
+            intervalOf = Arrays.copyOf(intervalOf, capacity);
+            Arrays.fill(intervalOf, previousLength, capacity, NONE);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package br.outsera.movies.service;
+
+import br.outsera.movies.csv.CsvReadListener;
+import br.outsera.movies.csv.MovieCsvReader;
+import br.outsera.movies.repository.MovieRepository;
+import lombok.Builder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Keeps the catalog in sync with an external CSV file.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CatalogFileWatcher {
+
+    @Value("${api.catalog-watch.enabled}")
+    public Boolean enabled;
+    @Value("${api.catalog-watch.path}")
+    public String path;
+    @Value("${api.catalog-watch.debounce}")
+    public Duration debounce;
+    @Value("${api.csv-file.separator}")
+    public Character csvFileSeparator;
+
+    final MovieRepository repository;
+    final MovieService movieService;
+    final MovieCsvReader movieCsvReader;
+    final MovieMetrics movieMetrics;
+
+    @Builder
+    public record Reload(int added, int removed, long elapsedMillis) {
+    }
+
+    /**
+     * Syncs the catalog with the file, then again after every change to it; nothing when watching is disabled.
+     */
+    public Flux<Reload> watch() {
+        if (!Boolean.TRUE.equals(enabled)) {
+            return Flux.empty();
+        }
+
+        var file = Path.of(path).toAbsolutePath();
+        return changes(file)
+            .startWith(file)
+            .sampleTimeout(change -> Mono.delay(debounce))
+            .concatMap(change -> reload(file)
+                .onErrorResume(error -> {
+                    log.error("Falha ao recarregar o catálogo de {}", file, error);
+                    return Mono.empty();
+                }));
+    }
+
+    /**
+     * Rows currently in the database, so writes made through the API or by other instances are part of the diff.
+     */
+    Mono<CatalogRows> loadRows() {
+        return repository.findAll()
+            .collect(() -> new CatalogRows(0), CatalogRows::add);
+    }
+
+    Mono<Reload> reload(Path file) {
+        return Mono.defer(() -> {
+            var started = System.nanoTime();
+            var failure = new AtomicReference<Throwable>();
+            var listener = new CsvReadListener() {
+                @Override
+                public void rowsDropped(long rows) {
+                    movieMetrics.rowsDropped(rows);
+                }
+
+                @Override
+                public void readFailed(Throwable error) {
+                    movieMetrics.readFailed(error);
+                    failure.set(error);
+                }
+            };
+
+            return loadRows()
+                .flatMap(rows -> movieCsvReader.read(new FileSystemResource(file), csvFileSeparator, listener)
+                    .collect(rows::diff, CatalogRows.Diff::accept))
+                .flatMap(diff -> {
+                    if (failure.get() != null) {
+                        return Mono.error(failure.get());
+                    }
+                    if (diff.isEmpty()) {
+                        return Mono.just(reloaded(0, 0, started));
+                    }
+                    var removedIds = diff.removedIds();
+                    return movieService.replaceMovies(removedIds, diff.added())
+                        .map(saved -> reloaded(saved.size(), removedIds.size(), started));
+                })
+                .doOnNext(reload -> log.info("Catálogo sincronizado com {}: {} filmes incluídos, {} removidos em {} ms",
+                    file, reload.added(), reload.removed(), reload.elapsedMillis()));
+        });
+    }
+
+    private static Reload reloaded(int added, int removed, long startedAt) {
+        return Reload.builder()
+            .added(added)
+            .removed(removed)
+            .elapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt))
+            .build();
+    }
+
+    /**
+     * Creations and modifications of {@code file}.
+     */
+    private static Flux<Path> changes(Path file) {
+        return Flux.create(sink -> {
+            try {
+                var watchService = file.getFileSystem().newWatchService();
+                file.getParent().register(watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+                sink.onDispose(() -> {
+                    try {
+                        watchService.close();
+                    } catch (IOException e) {
+                        log.warn("Falha ao encerrar a observação de {}", file, e);
+                    }
+                });
+
+                Thread.ofPlatform().daemon().name("catalog-watcher").start(() -> {
+                    try {
+                        while (!sink.isCancelled()) {
+                            var key = watchService.take();
+                            for (WatchEvent<?> event : key.pollEvents()) {
+                                if (file.getFileName().equals(event.context())) {
+                                    sink.next(file);
+                                }
+                            }
+                            key.reset();
+                        }
+                    } catch (InterruptedException | ClosedWatchServiceException e) {
+                        sink.complete();
+                    }
+                });
+                log.info("Observando alterações do catálogo em {}", file);
+            } catch (IOException e) {
+                sink.error(e);
+            }
+        });
+    }
+}
@@ -0,0 +1,100 @@
+package br.outsera.movies.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Component
+public class CatalogLoadTracker {
+
+    public enum Phase {
+        PENDING,
+        LOADING,
+        READY,
+        FAILED
+    }
+
+    private final Sinks.One<Void> ready = Sinks.one();
+    private final AtomicLong loadedRows = new AtomicLong();
+    private final Timer loadTimer;
+
+    private volatile Phase phase = Phase.PENDING;
+    private volatile Instant startedAt;
+    private volatile Duration loadDuration;
+    private volatile Throwable failure;
+
+    public CatalogLoadTracker(MeterRegistry meterRegistry) {
+        this.loadTimer = Timer.builder("catalog.load")
+            .description("Tempo de carga do catálogo de filmes")
+            .register(meterRegistry);
+        Gauge.builder("catalog.load.rows", loadedRows, AtomicLong::get)
+            .description("Filmes carregados na última carga do catálogo")
+            .register(meterRegistry);
+        Gauge.builder("catalog.ready", this, tracker -> tracker.isReady() ? 1 : 0)
+            .description("Indica se o catálogo terminou de carregar")
+            .register(meterRegistry);
+    }
+
+    public Mono<Long> track(Mono<Long> load) {
+        return Mono.defer(() -> {
+            var started = System.nanoTime();
+            startedAt = Instant.now();
+            phase = Phase.LOADING;
+
+            return load
+                .defaultIfEmpty(0L)
+                .doOnNext(rows -> {
+                    loadDuration = Duration.ofNanos(System.nanoTime() - started);
+                    loadTimer.record(loadDuration);
+                    loadedRows.set(rows);
+                    phase = Phase.READY;
+                    ready.tryEmitEmpty();
+                    log.info("Catálogo pronto: {} filmes carregados em {} ms", rows, loadDuration.toMillis());
+                })
+                .doOnError(error -> {
+                    loadDuration = Duration.ofNanos(System.nanoTime() - started);
+                    failure = error;
+                    phase = Phase.FAILED;
+                    ready.tryEmitError(error);
+                    log.error("Falha na carga do catálogo", error);
+                });
+        });
+    }
+
+    public boolean isReady() {
+        return phase == Phase.READY;
+    }
+
+    public Mono<Void> awaitReady() {
+        return ready.asMono();
+    }
+
+    public Phase getPhase() {
+        return phase;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public Duration getLoadDuration() {
+        return loadDuration;
+    }
+
+    public long getLoadedRows() {
+        return loadedRows.get();
+    }
+
+    public Throwable getFailure() {
+        return failure;
+    }
+}
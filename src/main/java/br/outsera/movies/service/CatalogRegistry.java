@@ -0,0 +1,92 @@
+package br.outsera.movies.service;
+
+import br.outsera.movies.csv.MovieCsvReader;
+import br.outsera.movies.repository.CatalogPartition;
+import br.outsera.movies.repository.ProducerDictionary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.spi.ConnectionFactories;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * The named catalogs declared under {@code api.catalogs.<name>}.
+ */
+@Component
+public class CatalogRegistry implements DisposableBean {
+
+    private static final Pattern NAME = Pattern.compile("[A-Za-z0-9_-]+");
+
+    @Value("${api.ingestion.batch-size}")
+    public Integer ingestionBatchSize;
+    @Value("${api.startup.wait-timeout}")
+    public Duration waitTimeout;
+
+    private final MovieCsvReader movieCsvReader;
+    private final ResourceLoader resourceLoader;
+    private final Map<String, NamedCatalog> catalogs;
+    private final Map<String, NamedCatalog.Settings> settings;
+
+    public CatalogRegistry(Environment environment, ResourceLoader resourceLoader, MovieCsvReader movieCsvReader,
+                           MeterRegistry meterRegistry) {
+        this.movieCsvReader = movieCsvReader;
+        this.resourceLoader = resourceLoader;
+        this.settings = Binder.get(environment)
+            .bind("api.catalogs", Bindable.mapOf(String.class, NamedCatalog.Settings.class))
+            .orElse(Map.of());
+
+        var created = new LinkedHashMap<String, NamedCatalog>();
+        settings.forEach((name, catalog) -> {
+            if (!NAME.matcher(name).matches()) {
+                throw new IllegalArgumentException("Nome de catálogo inválido: " + name);
+            }
+            if (catalog.path() == null) {
+                throw new IllegalArgumentException("O catálogo " + name + " não informa o arquivo CSV (path)");
+            }
+            var url = catalog.url() != null
+                ? catalog.url()
+                : "r2dbc:h2:mem:///catalog_" + name.replace('-', '_') + "?options=DB_CLOSE_DELAY=-1";
+            var producerDictionary = new ProducerDictionary();
+            var partition = new CatalogPartition(ConnectionFactories.get(url), producerDictionary);
+            created.put(name, new NamedCatalog(name, catalog, partition, producerDictionary, meterRegistry));
+        });
+        this.catalogs = Collections.unmodifiableMap(created);
+    }
+
+    /**
+     * Loads every named catalog at once.
+     */
+    public Mono<Void> loadAll() {
+        return Flux.fromIterable(catalogs.values())
+            .flatMap(catalog -> catalog.load(resourceLoader.getResource(settings.get(catalog.name()).path()),
+                    movieCsvReader, ingestionBatchSize)
+                .onErrorResume(error -> Mono.empty()), Math.max(1, catalogs.size()))
+            .then();
+    }
+
+    public NamedCatalog get(String name) {
+        return catalogs.get(name);
+    }
+
+    public Collection<NamedCatalog> all() {
+        return catalogs.values();
+    }
+
+    @Override
+    public void destroy() {
+        catalogs.values().forEach(NamedCatalog::close);
+    }
+}
@@ -0,0 +1,142 @@
+package br.outsera.movies.service;
+
+import br.outsera.movies.model.MovieEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hashes of the rows of the watched catalog file with the ids of their movies.
+ */
+final class CatalogRows {
+
+    private static final long FNV_OFFSET = 0xCBF29CE484222325L;
+    private static final long FNV_PRIME = 0x100000001B3L;
+
+    private long[] hashes;
+    private long[] movieIds;
+    private int size;
+
+    CatalogRows(int expectedRows) {
+        int capacity = 16;
+        while (capacity < expectedRows * 2L) {
+            capacity <<= 1;
+        }
+        hashes = new long[capacity];
+        movieIds = new long[capacity];
+    }
+
+    /**
+     * Hash of the fields a catalog row is made of.
+     */
+    static long hash(MovieEntity movie) {
+        long hash = (FNV_OFFSET ^ movie.years()) * FNV_PRIME;
+        hash = hash(hash, movie.title());
+        hash = hash(hash, movie.studios());
+        hash = hash(hash, movie.producers());
+        hash = (hash ^ (Boolean.TRUE.equals(movie.winner()) ? 1 : 0)) * FNV_PRIME;
+        hash = (hash ^ (hash >>> 33)) * 0xFF51AFD7ED558CCDL;
+        hash = (hash ^ (hash >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return hash ^ (hash >>> 33);
+    }
+
+    /**
+     * FNV-1a over the characters of {@code value}, with a null told apart from an empty string.
+     */
+    private static long hash(long hash, String value) {
+        if (value == null) {
+            return (hash ^ 0xFFFF_FFFFL) * FNV_PRIME;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+        }
+        return (hash ^ 0x1_0000L) * FNV_PRIME;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void add(MovieEntity movie) {
+        put(hash(movie), movie.id());
+    }
+
+    void put(long hash, long movieId) {
+        if ((size + 1) * 2L > hashes.length) {
+            grow();
+        }
+        int mask = hashes.length - 1;
+        int slot = slotOf(hash, mask);
+        while (movieIds[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        hashes[slot] = hash;
+        movieIds[slot] = movieId;
+        size++;
+    }
+
+    private void grow() {
+        var previousHashes = hashes;
+        var previousMovieIds = movieIds;
+        hashes = new long[previousHashes.length << 1];
+        movieIds = new long[previousHashes.length << 1];
+        size = 0;
+        for (int slot = 0; slot < previousHashes.length; slot++) {
+            if (previousMovieIds[slot] != 0) {
+                put(previousHashes[slot], previousMovieIds[slot]);
+            }
+        }
+    }
+
+    private static int slotOf(long hash, int mask) {
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    /**
+     * Starts matching a new version of the file against these rows, which are left untouched.
+     */
+    Diff diff() {
+        return new Diff();
+    }
+
+    /**
+     * Rows of a new version matched against the loaded ones as they are read.
+     */
+    final class Diff {
+
+        private final boolean[] matched = new boolean[hashes.length];
+        private final List<MovieEntity> added = new ArrayList<>();
+        private int kept;
+
+        void accept(MovieEntity movie) {
+            long hash = hash(movie);
+            int mask = hashes.length - 1;
+            for (int slot = slotOf(hash, mask); movieIds[slot] != 0; slot = (slot + 1) & mask) {
+                if (hashes[slot] == hash && !matched[slot]) {
+                    matched[slot] = true;
+                    kept++;
+                    return;
+                }
+            }
+            added.add(movie);
+        }
+
+        List<Long> removedIds() {
+            var removed = new ArrayList<Long>(size - kept);
+            for (int slot = 0; slot < movieIds.length; slot++) {
+                if (movieIds[slot] != 0 && !matched[slot]) {
+                    removed.add(movieIds[slot]);
+                }
+            }
+            return removed;
+        }
+
+        List<MovieEntity> added() {
+            return added;
+        }
+
+        boolean isEmpty() {
+            return added.isEmpty() && kept == size;
+        }
+    }
+}
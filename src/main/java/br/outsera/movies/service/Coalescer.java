@@ -0,0 +1,41 @@
+package br.outsera.movies.service;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Shares one in-flight computation among every caller that arrives while it runs.
+ */
+final class Coalescer<T> {
+
+    private final AtomicReference<Mono<T>> inFlight = new AtomicReference<>();
+
+    Mono<T> join(Supplier<Mono<T>> computation) {
+        return Mono.defer(() -> {
+            Sinks.One<T> sink = Sinks.one();
+            var shared = sink.asMono();
+            var current = inFlight.compareAndExchange(null, shared);
+            if (current != null) {
+                return current;
+            }
+
+            Mono.defer(computation).subscribe(
+                value -> {
+                    inFlight.compareAndSet(shared, null);
+                    sink.tryEmitValue(value);
+                },
+                error -> {
+                    inFlight.compareAndSet(shared, null);
+                    sink.tryEmitError(error);
+                },
+                () -> {
+                    inFlight.compareAndSet(shared, null);
+                    sink.tryEmitEmpty();
+                });
+            return shared;
+        });
+    }
+}
@@ -0,0 +1,49 @@
+package br.outsera.movies.service;
+
+import br.outsera.movies.model.IntervalPercentilesDTO;
+import br.outsera.movies.model.ProducerWinStudioDTO;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Folds wins ordered by producer and year into one {@link IntervalHistogram} per group.
+ */
+final class GroupedIntervals {
+
+    private final IntervalGrouping grouping;
+    private final Map<String, IntervalHistogram> histograms = new HashMap<>();
+    private int producerId = -1;
+    private int previousWin;
+
+    GroupedIntervals(IntervalGrouping grouping) {
+        this.grouping = grouping;
+    }
+
+    void add(ProducerWinStudioDTO win) {
+        if (win.producerId() == producerId) {
+            int interval = win.years() - previousWin;
+            for (String group : grouping.groupsOf(win)) {
+                histograms.computeIfAbsent(group, key -> new IntervalHistogram()).add(interval);
+            }
+        }
+        producerId = win.producerId();
+        previousWin = win.years();
+    }
+
+    List<IntervalPercentilesDTO> percentiles() {
+        return histograms.entrySet().stream()
+            .sorted(Map.Entry.comparingByKey())
+            .map(entry -> IntervalPercentilesDTO.builder()
+                .group(entry.getKey())
+                .count(entry.getValue().count())
+                .min(entry.getValue().min())
+                .p50(entry.getValue().quantile(0.50))
+                .p90(entry.getValue().quantile(0.90))
+                .p99(entry.getValue().quantile(0.99))
+                .max(entry.getValue().max())
+                .build())
+            .toList();
+    }
+}
@@ -0,0 +1,31 @@
+package br.outsera.movies.service;
+
+import br.outsera.movies.model.ProducerWinStudioDTO;
+import br.outsera.movies.repository.ProducerDictionary;
+
+import java.util.Locale;
+
+/**
+ * How interval percentiles are grouped, by the following win of each interval.
+ */
+public enum IntervalGrouping {
+
+    DECADE {
+        @Override
+        String[] groupsOf(ProducerWinStudioDTO followingWin) {
+            return new String[]{followingWin.years() / 10 * 10 + "s"};
+        }
+    },
+    STUDIO {
+        @Override
+        String[] groupsOf(ProducerWinStudioDTO followingWin) {
+            return ProducerDictionary.split(followingWin.studios());
+        }
+    };
+
+    abstract String[] groupsOf(ProducerWinStudioDTO followingWin);
+
+    public static IntervalGrouping of(String name) {
+        return valueOf(name.strip().toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,109 @@
+package br.outsera.movies.service;
+
+import br.outsera.movies.model.MovieAwardsResultDTO;
+
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * Bounded heap keeping the {@code limit} shortest (or longest) intervals.
+ */
+final class IntervalHeap {
+
+    private final boolean shortest;
+    private final int[] intervals;
+    private final int[] previousWins;
+    private final int[] producerIds;
+    private int size;
+
+    IntervalHeap(int limit, boolean shortest) {
+        this.shortest = shortest;
+        this.intervals = new int[limit];
+        this.previousWins = new int[limit];
+        this.producerIds = new int[limit];
+    }
+
+    void offer(int producerId, int previousWin, int followingWin) {
+        int interval = followingWin - previousWin;
+        if (size < intervals.length) {
+            set(size, interval, previousWin, producerId);
+            siftUp(size++);
+        } else if (size > 0 && compare(interval, previousWin, producerId, 0) < 0) {
+            set(0, interval, previousWin, producerId);
+            siftDown(0);
+        }
+    }
+
+    List<MovieAwardsResultDTO> drain(IntFunction<String> producerNames) {
+        var ranked = new MovieAwardsResultDTO[size];
+        while (size > 0) {
+            ranked[size - 1] = MovieAwardsResultDTO.builder()
+                .producers(producerNames.apply(producerIds[0]))
+                .interval(intervals[0])
+                .previousWin(previousWins[0])
+                .followingWin(previousWins[0] + intervals[0])
+                .build();
+            size--;
+            set(0, intervals[size], previousWins[size], producerIds[size]);
+            siftDown(0);
+        }
+        return List.of(ranked);
+    }
+
+    private int compare(int interval, int previousWin, int producerId, int slot) {
+        int byInterval = Integer.compare(interval, intervals[slot]);
+        if (byInterval != 0) {
+            return shortest ? byInterval : -byInterval;
+        }
+        int byYear = Integer.compare(previousWin, previousWins[slot]);
+        return byYear != 0 ? byYear : Integer.compare(producerId, producerIds[slot]);
+    }
+
+    private int compareSlots(int left, int right) {
+        return compare(intervals[left], previousWins[left], producerIds[left], right);
+    }
+
+    private void siftUp(int slot) {
+        while (slot > 0) {
+            int parent = (slot - 1) >>> 1;
+            if (compareSlots(parent, slot) >= 0) {
+                return;
+            }
+            swap(parent, slot);
+            slot = parent;
+        }
+    }
+
+    private void siftDown(int slot) {
+        while (true) {
+            int last = slot;
+            int left = (slot << 1) + 1;
+            int right = left + 1;
+            if (left < size && compareSlots(left, last) > 0) {
+                last = left;
+            }
+            if (right < size && compareSlots(right, last) > 0) {
+                last = right;
+            }
+            if (last == slot) {
+                return;
+            }
+            swap(slot, last);
+            slot = last;
+        }
+    }
+
+    private void set(int slot, int interval, int previousWin, int producerId) {
+        intervals[slot] = interval;
+        previousWins[slot] = previousWin;
+        producerIds[slot] = producerId;
+    }
+
+    private void swap(int left, int right) {
+        int interval = intervals[left];
+        int previousWin = previousWins[left];
+        int producerId = producerIds[left];
+        set(left, intervals[right], previousWins[right], producerIds[right]);
+        set(right, interval, previousWin, producerId);
+    }
+}
@@ -0,0 +1,99 @@
+package br.outsera.movies.service;
+
+import br.outsera.movies.model.IntervalHistogramBucketDTO;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Interval histogram with bounded memory, exact below 128 years.
+ */
+final class IntervalHistogram {
+
+    private static final int EXACT = 128;
+    private static final int SUB_BUCKETS = 64;
+
+    private long[] counts = new long[16];
+    private long count;
+    private int min = Integer.MAX_VALUE;
+    private int max = Integer.MIN_VALUE;
+
+    void add(int interval) {
+        int value = Math.max(0, interval);
+        int index = bucketIndex(value);
+        if (index >= counts.length) {
+            counts = Arrays.copyOf(counts, Math.max(index + 1, counts.length << 1));
+        }
+        counts[index]++;
+        count++;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    long count() {
+        return count;
+    }
+
+    int min() {
+        return min;
+    }
+
+    int max() {
+        return max;
+    }
+
+    /**
+     * Nearest-rank quantile, exact below 128 and clamped to the observed min/max.
+     */
+    int quantile(double quantile) {
+        long rank = Math.max(1, (long) Math.ceil(quantile * count));
+        long seen = 0;
+        for (int index = 0; index < counts.length; index++) {
+            seen += counts[index];
+            if (seen >= rank) {
+                return Math.min(max, Math.max(min, lowerBound(index)));
+            }
+        }
+        return max;
+    }
+
+    List<IntervalHistogramBucketDTO> buckets() {
+        var buckets = new ArrayList<IntervalHistogramBucketDTO>();
+        for (int index = 0; index < counts.length; index++) {
+            if (counts[index] > 0) {
+                buckets.add(IntervalHistogramBucketDTO.builder()
+                    .from(lowerBound(index))
+                    .to(upperBound(index))
+                    .count(counts[index])
+                    .build());
+            }
+        }
+        return buckets;
+    }
+
+    static int bucketIndex(int value) {
+        if (value < EXACT) {
+            return value;
+        }
+        int shift = 31 - Integer.numberOfLeadingZeros(value) - 6;
+        return shift * SUB_BUCKETS + (value >>> shift);
+    }
+
+    static int lowerBound(int index) {
+        if (index < EXACT) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        return (index - shift * SUB_BUCKETS) << shift;
+    }
+
+    static int upperBound(int index) {
+        if (index < EXACT) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long upper = ((long) (index - shift * SUB_BUCKETS + 1) << shift) - 1;
+        return (int) Math.min(Integer.MAX_VALUE, upper);
+    }
+}
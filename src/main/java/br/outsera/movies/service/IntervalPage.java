@@ -0,0 +1,74 @@
+package br.outsera.movies.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * One page of a walk over the intervals in (producer id, previous win, following win) order.
+ */
+final class IntervalPage {
+
+    final int[] producerIds;
+    final int[] previousWins;
+    final int[] followingWins;
+    final int[] occurrences;
+    int size;
+    boolean exhausted;
+
+    int lastProducerId = -1;
+    int lastPreviousWin = Integer.MIN_VALUE;
+    int lastFollowingWin = Integer.MIN_VALUE;
+    int lastOccurrence;
+
+    IntervalPage(int capacity) {
+        this.producerIds = new int[capacity];
+        this.previousWins = new int[capacity];
+        this.followingWins = new int[capacity];
+        this.occurrences = new int[capacity];
+    }
+
+    boolean isFull() {
+        return size == producerIds.length;
+    }
+
+    boolean isLast(int producerId, int previousWin, int followingWin) {
+        return producerId == lastProducerId && previousWin == lastPreviousWin && followingWin == lastFollowingWin;
+    }
+
+    void add(int producerId, int previousWin, int followingWin) {
+        lastOccurrence = isLast(producerId, previousWin, followingWin) ? lastOccurrence + 1 : 1;
+        lastProducerId = producerId;
+        lastPreviousWin = previousWin;
+        lastFollowingWin = followingWin;
+
+        producerIds[size] = producerId;
+        previousWins[size] = previousWin;
+        followingWins[size] = followingWin;
+        occurrences[size] = lastOccurrence;
+        size++;
+    }
+
+    String cursorAt(int index) {
+        var position = producerIds[index] + ":" + previousWins[index] + ":" + followingWins[index] + ":"
+            + occurrences[index];
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Positions the page right after the interval encoded in {@code cursor}.
+     */
+    void resumeAfter(String cursor) {
+        try {
+            var position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII).split(":");
+            if (position.length != 4) {
+                throw new IllegalArgumentException("Cursor inválido: " + cursor);
+            }
+            lastProducerId = Integer.parseInt(position[0]);
+            lastPreviousWin = Integer.parseInt(position[1]);
+            lastFollowingWin = Integer.parseInt(position[2]);
+            lastOccurrence = Integer.parseInt(position[3]);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor inválido: " + cursor, e);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package br.outsera.movies.service;
+
+import lombok.Builder;
+
+/**
+ * Filters for the interval stream.
+ */
+@Builder
+public record IntervalQuery(
+    String producer,
+
+    Integer fromYear,
+
+    Integer toYear,
+
+    String cursor
+) {
+}
@@ -0,0 +1,103 @@
+package br.outsera.movies.service;
+
+import br.outsera.movies.csv.CsvReadListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meters of the ingestion and awards paths.
+ */
+@Component
+public class MovieMetrics implements CsvReadListener {
+
+    public final Timer csvRead;
+    public final Counter csvRowsDropped;
+    public final Counter csvReadFailures;
+    public final Timer ingestionBatch;
+    public final Counter ingestionRowsInserted;
+    public final Counter ingestionRowsRejected;
+    public final Timer awardsQuery;
+    public final Timer awardsIndexRebuild;
+    public final Timer awardsIndexUpdate;
+    public final Timer awardsSerialization;
+    public final Counter awardsCacheHits;
+    public final Counter awardsCacheMisses;
+
+    public MovieMetrics(MeterRegistry meterRegistry) {
+        this.csvRead = Timer.builder("movies.csv.read")
+            .description("Tempo de leitura do CSV do catálogo")
+            .register(meterRegistry);
+        this.csvRowsDropped = Counter.builder("movies.csv.rows.dropped")
+            .description("Linhas do CSV descartadas por não poderem ser convertidas em filmes")
+            .register(meterRegistry);
+        this.csvReadFailures = Counter.builder("movies.csv.read.failures")
+            .description("Leituras do CSV interrompidas por erro")
+            .register(meterRegistry);
+        this.ingestionBatch = Timer.builder("movies.ingestion.batch")
+            .description("Tempo de gravação de um lote de filmes")
+            .register(meterRegistry);
+        this.ingestionRowsInserted = Counter.builder("movies.ingestion.rows")
+            .tag("result", "inserted")
+            .description("Filmes recebidos pela importação em lote")
+            .register(meterRegistry);
+        this.ingestionRowsRejected = Counter.builder("movies.ingestion.rows")
+            .tag("result", "rejected")
+            .description("Filmes recebidos pela importação em lote")
+            .register(meterRegistry);
+        this.awardsQuery = Timer.builder("movies.awards.query")
+            .description("Tempo da consulta das vitórias dos produtores no banco")
+            .register(meterRegistry);
+        this.awardsIndexRebuild = Timer.builder("movies.awards.index")
+            .tag("operation", "rebuild")
+            .description("Tempo de cálculo dos intervalos no índice")
+            .register(meterRegistry);
+        this.awardsIndexUpdate = Timer.builder("movies.awards.index")
+            .tag("operation", "update")
+            .description("Tempo de cálculo dos intervalos no índice")
+            .register(meterRegistry);
+        this.awardsSerialization = Timer.builder("movies.awards.serialization")
+            .description("Tempo de serialização e compressão do resultado dos prêmios")
+            .register(meterRegistry);
+        this.awardsCacheHits = Counter.builder("movies.awards.cache")
+            .tag("result", "hit")
+            .description("Requisições do resultado dos prêmios atendidas pelo cache")
+            .register(meterRegistry);
+        this.awardsCacheMisses = Counter.builder("movies.awards.cache")
+            .tag("result", "miss")
+            .description("Requisições do resultado dos prêmios atendidas pelo cache")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public void rowsDropped(long rows) {
+        csvRowsDropped.increment(rows);
+    }
+
+    @Override
+    public void readFailed(Throwable error) {
+        csvReadFailures.increment();
+    }
+
+    /**
+     * Records the time from subscription until {@code source} completes, errors or is cancelled.
+     */
+    public static <T> Mono<T> timed(Timer timer, Mono<T> source) {
+        return Mono.defer(() -> {
+            long startedAt = System.nanoTime();
+            return source.doFinally(signal -> timer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS));
+        });
+    }
+
+    public static <T> Flux<T> timed(Timer timer, Flux<T> source) {
+        return Flux.defer(() -> {
+            long startedAt = System.nanoTime();
+            return source.doFinally(signal -> timer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS));
+        });
+    }
+}
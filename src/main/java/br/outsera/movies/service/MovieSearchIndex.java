@@ -0,0 +1,229 @@
+package br.outsera.movies.service;
+
+import br.outsera.movies.model.MovieEntity;
+import br.outsera.movies.repository.ProducerDictionary;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Inverted index of the catalog: a sorted posting list of movie ids per term.
+ */
+@Component
+@RequiredArgsConstructor
+public class MovieSearchIndex {
+
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int[] NO_MOVIES = new int[0];
+
+    private final ProducerDictionary producerDictionary;
+
+    private final Map<String, Postings> titleWords = new HashMap<>();
+    private final Map<String, Postings> studios = new HashMap<>();
+    private final Map<Integer, Postings> years = new HashMap<>();
+    private final Postings winners = new Postings();
+    private final Postings others = new Postings();
+    private Postings[] producers = new Postings[0];
+
+    public synchronized void add(MovieEntity movie) {
+        if (movie.id() == null) {
+            return;
+        }
+
+        int movieId = Math.toIntExact(movie.id());
+        for (String word : words(movie.title())) {
+            titleWords.computeIfAbsent(word, key -> new Postings()).add(movieId);
+        }
+        for (String studio : ProducerDictionary.split(movie.studios())) {
+            studios.computeIfAbsent(normalize(studio), key -> new Postings()).add(movieId);
+        }
+        for (int producerId : producerDictionary.idsOf(movie.producers())) {
+            if (producerId >= producers.length) {
+                producers = Arrays.copyOf(producers, Math.max(producerId + 1, producers.length << 1));
+            }
+            if (producers[producerId] == null) {
+                producers[producerId] = new Postings();
+            }
+            producers[producerId].add(movieId);
+        }
+        years.computeIfAbsent(movie.years(), key -> new Postings()).add(movieId);
+        (Boolean.TRUE.equals(movie.winner()) ? winners : others).add(movieId);
+    }
+
+    public synchronized void addAll(Collection<MovieEntity> movies) {
+        for (MovieEntity movie : movies) {
+            add(movie);
+        }
+    }
+
+    public synchronized void remove(MovieEntity movie) {
+        if (movie.id() == null) {
+            return;
+        }
+
+        int movieId = Math.toIntExact(movie.id());
+        for (String word : words(movie.title())) {
+            remove(titleWords, word, movieId);
+        }
+        for (String studio : ProducerDictionary.split(movie.studios())) {
+            remove(studios, normalize(studio), movieId);
+        }
+        for (int producerId : producerDictionary.knownIdsOf(movie.producers())) {
+            if (producerId < producers.length && producers[producerId] != null) {
+                producers[producerId].remove(movieId);
+            }
+        }
+        remove(years, movie.years(), movieId);
+        (Boolean.TRUE.equals(movie.winner()) ? winners : others).remove(movieId);
+    }
+
+    public synchronized void replace(MovieEntity previous, MovieEntity current) {
+        remove(previous);
+        add(current);
+    }
+
+    public synchronized void replaceAll(Collection<MovieEntity> removed, Collection<MovieEntity> added) {
+        for (MovieEntity movie : removed) {
+            remove(movie);
+        }
+        addAll(added);
+    }
+
+    private static <K> void remove(Map<K, Postings> postings, K term, int movieId) {
+        var movies = postings.get(term);
+        if (movies != null && movies.remove(movieId) && movies.size == 0) {
+            postings.remove(term);
+        }
+    }
+
+    /**
+     * Ids of up to {@code limit} movies matching every filter of {@code query}, in ascending order.
+     */
+    public synchronized int[] search(MovieSearchQuery query, int limit) {
+        var lists = new ArrayList<Postings>();
+        boolean filtered = false;
+        if (query.title() != null) {
+            filtered = true;
+            var queryWords = words(query.title());
+            for (String word : queryWords) {
+                lists.add(titleWords.get(word));
+            }
+            if (queryWords.isEmpty()) {
+                lists.add(null);
+            }
+        }
+        if (query.studio() != null) {
+            filtered = true;
+            lists.add(studios.get(normalize(query.studio())));
+        }
+        if (query.producer() != null) {
+            filtered = true;
+            int producerId = producerDictionary.idOf(query.producer());
+            lists.add(producerId >= 0 && producerId < producers.length ? producers[producerId] : null);
+        }
+        if (query.year() != null) {
+            filtered = true;
+            lists.add(years.get(query.year()));
+        }
+        if (query.winner() != null) {
+            filtered = true;
+            lists.add(query.winner() ? winners : others);
+        }
+        if (!filtered) {
+            throw new IllegalArgumentException("Informe ao menos um filtro de busca");
+        }
+        if (lists.contains(null)) {
+            return NO_MOVIES;
+        }
+
+        lists.sort(Comparator.comparingInt(movies -> movies.size));
+        return intersect(lists, query.afterId() == null ? 0 : query.afterId(), limit);
+    }
+
+    private static int[] intersect(List<Postings> lists, long afterId, int limit) {
+        var shortest = lists.getFirst();
+        var positions = new int[lists.size()];
+        var matches = new int[Math.min(limit, shortest.size)];
+        int found = 0;
+
+        int start = afterId <= 0 ? 0 : shortest.positionAfter((int) Math.min(afterId, Integer.MAX_VALUE));
+        candidates:
+        for (int i = start; i < shortest.size && found < matches.length; i++) {
+            int movieId = shortest.ids[i];
+            for (int list = 1; list < lists.size(); list++) {
+                var movies = lists.get(list);
+                int position = Arrays.binarySearch(movies.ids, positions[list], movies.size, movieId);
+                if (position < 0) {
+                    positions[list] = -position - 1;
+                    continue candidates;
+                }
+                positions[list] = position + 1;
+            }
+            matches[found++] = movieId;
+        }
+        return found == matches.length ? matches : Arrays.copyOf(matches, found);
+    }
+
+    private static List<String> words(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(WORD_SEPARATOR.split(normalize(text)))
+            .filter(word -> !word.isEmpty())
+            .distinct()
+            .toList();
+    }
+
+    private static String normalize(String term) {
+        return term.strip().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Sorted, duplicate-free movie ids.
+     */
+    private static final class Postings {
+
+        private int[] ids = new int[4];
+        private int size;
+
+        void add(int movieId) {
+            int position = size == 0 || ids[size - 1] < movieId ? size : Arrays.binarySearch(ids, 0, size, movieId);
+            if (position < 0) {
+                position = -position - 1;
+            } else if (position < size) {
+                return;
+            }
+
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size << 1);
+            }
+            System.arraycopy(ids, position, ids, position + 1, size - position);
+            ids[position] = movieId;
+            size++;
+        }
+
+        boolean remove(int movieId) {
+            int position = Arrays.binarySearch(ids, 0, size, movieId);
+            if (position < 0) {
+                return false;
+            }
+            System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+            size--;
+            return true;
+        }
+
+        int positionAfter(int movieId) {
+            int position = Arrays.binarySearch(ids, 0, size, movieId);
+            return position < 0 ? -position - 1 : position + 1;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package br.outsera.movies.service;
+
+import lombok.Builder;
+
+/**
+ * Filters for the movie search, all of which must match.
+ */
+@Builder
+public record MovieSearchQuery(
+    String title,
+
+    String studio,
+
+    String producer,
+
+    Integer year,
+
+    Boolean winner,
+
+    Long afterId
+) {
+}
@@ -1,118 +1,394 @@
 package br.outsera.movies.service;
 
+import br.outsera.movies.csv.MovieCsvReader;
+import br.outsera.movies.model.AwardIntervalExtremeDTO;
+import br.outsera.movies.model.IntervalHistogramBucketDTO;
+import br.outsera.movies.model.IntervalPercentilesDTO;
+import br.outsera.movies.model.MovieAwardsRankingDTO;
 import br.outsera.movies.model.MovieAwardsResultDTO;
 import br.outsera.movies.model.MovieAwardsResultResponseDTO;
-import br.outsera.movies.model.MovieCsv;
+import br.outsera.movies.model.MovieBulkResultDTO;
 import br.outsera.movies.model.MovieEntity;
+import br.outsera.movies.model.ProducerAwardsDTO;
+import br.outsera.movies.model.ProducerIntervalDTO;
+import br.outsera.movies.repository.MovieBatchRepository;
 import br.outsera.movies.repository.MovieRepository;
-import com.opencsv.bean.CsvToBeanBuilder;
+import br.outsera.movies.snapshot.CatalogSnapshotStore;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.io.InputStreamReader;
-import java.io.Reader;
-import java.util.Collections;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class MovieService {
 
+    static final int INTERVAL_PAGE_SIZE = 256;
+
+    public enum AwardsSource {
+        INDEX,
+        DATABASE
+    }
+
     @Value("${api.csv-file.separator}")
     public Character csvFileSeparator;
     @Value("${api.csv-file.path}")
     public String csvFilePath;
+    @Value("${api.ingestion.batch-size}")
+    public Integer ingestionBatchSize;
+    @Value("${api.ingestion.concurrency}")
+    public Integer ingestionConcurrency;
+    @Value("${api.awards.source}")
+    public AwardsSource awardsSource;
+    @Value("${api.awards.load-timeout}")
+    public Duration awardsLoadTimeout;
+    @Value("${api.startup.load-stale-after}")
+    public Duration loadStaleAfter;
+    @Value("${api.startup.load-poll-interval}")
+    public Duration loadPollInterval;
 
     final MovieRepository repository;
+    final AwardIntervalIndex awardIntervalIndex;
+    final MovieCsvReader movieCsvReader;
+    final CatalogSnapshotStore catalogSnapshotStore;
+    final MovieMetrics movieMetrics;
+    final MovieSearchIndex movieSearchIndex;
 
-    public Mono<Void> initDB() {
-        var movieEntities = getFileResource(new ClassPathResource(csvFilePath))
-            .stream()
-            .map(MovieCsv::toEntity)
-            .toList();
+    private final AtomicReference<AwardIntervalIndex.Published> databasePublished = new AtomicReference<>();
+    private final Coalescer<Void> indexLoad = new Coalescer<>();
+    private final Coalescer<AwardIntervalIndex.Published> databaseQuery = new Coalescer<>();
+
+    public Mono<Long> initDB() {
+        return repository.claimCatalogLoad(loadStaleAfter)
+            .flatMap(claim -> switch (claim) {
+                case LOAD -> loadCatalog()
+                    .flatMap(movies -> repository.finishCatalogLoad(true)
+                        .thenReturn(movies))
+                    .onErrorResume(error -> repository.finishCatalogLoad(false)
+                        .then(Mono.<Long>error(error)));
+                case RESTORE -> repository.count()
+                    .flatMap(this::restoreCatalog);
+                case WAIT -> {
+                    log.info("Carga do CSV em andamento em outra instância, aguardando {}", loadPollInterval);
+                    yield Mono.delay(loadPollInterval)
+                        .then(Mono.defer(this::initDB));
+                }
+            });
+    }
+
+    private Mono<Long> restoreCatalog(long movies) {
+        log.info("Catálogo já presente no banco de dados ({} filmes), carga do CSV ignorada", movies);
+        return repository.getProducers()
+            .doOnNext(producer -> awardIntervalIndex.registerProducer(producer.id(), producer.name()))
+            .then(reloadAwardIntervalIndex())
+            .then(repository.findAll()
+                .doOnNext(movieSearchIndex::add)
+                .then())
+            .thenReturn(movies);
+    }
+
+    private Mono<Long> loadCatalog() {
+        return Mono.fromSupplier(System::nanoTime)
+            .flatMap(startedAt -> readCatalog(new ClassPathResource(csvFilePath))
+                .buffer(ingestionBatchSize)
+                .flatMap(this::insertBatch, ingestionConcurrency)
+                .doOnNext(movieSearchIndex::addAll)
+                .reduce(0L, (rows, saved) -> rows + saved.size())
+                .doOnNext(rows -> logIngestion(rows, System.nanoTime() - startedAt)))
+            .flatMap(rows -> reloadAwardIntervalIndex()
+                .thenReturn(rows));
+    }
 
-        return repository.saveAll(movieEntities)
+    private Flux<MovieEntity> readCatalog(Resource resource) {
+        return MovieMetrics.timed(movieMetrics.csvRead, catalogSnapshotStore.load(resource, csvFileSeparator,
+            () -> movieCsvReader.read(resource, csvFileSeparator, movieMetrics)));
+    }
+
+    private Mono<List<MovieEntity>> insertBatch(List<MovieEntity> movies) {
+        return MovieMetrics.timed(movieMetrics.ingestionBatch, repository.insertBatch(movies));
+    }
+
+    private static void logIngestion(long rows, long elapsedNanos) {
+        long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        log.info("Carga do CSV concluída: {} filmes em {} ms ({} filmes/s)",
+            rows, elapsedMillis, rows * 1000 / elapsedMillis);
+    }
+
+    private Mono<Void> reloadAwardIntervalIndex() {
+        return MovieMetrics.timed(movieMetrics.awardsQuery, repository.getMovieAwardsResult()
+                .collect(AwardIntervalIndex.Wins::new, AwardIntervalIndex.Wins::add))
+            .doOnNext(wins -> movieMetrics.awardsIndexRebuild.record(() -> awardIntervalIndex.rebuild(wins)))
             .then();
     }
 
-    private List<MovieCsv> getFileResource(final ClassPathResource resource) {
-        try (Reader reader = new InputStreamReader(resource.getInputStream())) {
-            return new CsvToBeanBuilder<MovieCsv>(reader)
-                .withType(MovieCsv.class)
-                .withIgnoreLeadingWhiteSpace(true)
-                .withThrowExceptions(false)
-                .withSeparator(csvFileSeparator)
-                .build()
-                .parse();
-        } catch (Exception e) {
-            return Collections.emptyList();
-        }
+    /**
+     * Loads the index on first use.
+     */
+    private Mono<Void> loadAwardIntervalIndex() {
+        return Mono.defer(() -> awardIntervalIndex.isLoaded()
+            ? Mono.empty()
+            : indexLoad.join(() -> awardIntervalIndex.isLoaded()
+                ? Mono.empty()
+                : withLoadTimeout(reloadAwardIntervalIndex())));
+    }
+
+    private <T> Mono<T> withLoadTimeout(Mono<T> load) {
+        return awardsLoadTimeout == null ? load : load.timeout(awardsLoadTimeout);
     }
 
     public Mono<MovieAwardsResultResponseDTO> getMovieAwardsResult() {
+        if (awardsSource == AwardsSource.DATABASE) {
+            return queryAwardsResult().map(AwardIntervalIndex.Published::result);
+        }
+        return loadAwardIntervalIndex()
+            .then(Mono.fromSupplier(awardIntervalIndex::getResult));
+    }
+
+    /**
+     * Awards result restricted to intervals within the given years.
+     */
+    public Mono<MovieAwardsResultResponseDTO> getMovieAwardsResult(Integer fromYear, Integer toYear) {
+        return loadAwardIntervalIndex()
+            .then(Mono.fromSupplier(() -> awardIntervalIndex.getResult(
+                fromYear == null ? Integer.MIN_VALUE : fromYear,
+                toYear == null ? Integer.MAX_VALUE : toYear)));
+    }
 
-        return repository.getMovieAwardsResult()
-            .collect(Collectors.groupingBy(MovieEntity::producers))
-            .map(stringListMap -> stringListMap.entrySet().stream()
-                .filter(entry -> entry.getValue().size() > 1)
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue)))
-            .map(movieEntity -> MovieAwardsResultResponseDTO.builder()
-                .min(getMinIntervalResult(calculateIntervals(movieEntity)))
-                .max(getMaxIntervalResult(calculateIntervals(movieEntity)))
-                .build())
-            .defaultIfEmpty(MovieAwardsResultResponseDTO.builder().build());
-
-    }
-
-    private List<MovieAwardsResultDTO> calculateIntervals(Map<String, List<MovieEntity>> movieEntity) {
-        return movieEntity.values().stream()
-            .flatMap(movieEntities ->
-            {
-                var sortedMovies = movieEntities.stream()
-                    .sorted(Comparator.comparingInt(MovieEntity::years))
-                    .toList();
-
-                return IntStream.range(1, sortedMovies.size())
-                    .mapToObj(movieIndex -> {
-                        var previousMovie = sortedMovies.get(movieIndex - 1);
-                        var currentMovie = sortedMovies.get(movieIndex);
-                        int interval = currentMovie.years() - previousMovie.years();
-                        return MovieAwardsResultDTO.builder()
-                            .producers(currentMovie.producers())
-                            .previousWin(previousMovie.years())
-                            .followingWin(currentMovie.years())
-                            .interval(interval)
-                            .build();
-                    });
+    public Mono<AwardIntervalIndex.Published> getPublishedAwardsResult() {
+        if (awardsSource == AwardsSource.DATABASE) {
+            return queryAwardsResult();
+        }
+        return loadAwardIntervalIndex()
+            .then(Mono.fromSupplier(awardIntervalIndex::getPublished));
+    }
+
+    private Mono<AwardIntervalIndex.Published> queryAwardsResult() {
+        return databaseQuery.join(() -> withLoadTimeout(queryAwardsExtremes()));
+    }
 
+    private Mono<AwardIntervalIndex.Published> queryAwardsExtremes() {
+        return MovieMetrics.timed(movieMetrics.awardsQuery, repository.getAwardIntervalExtremes().collectList())
+            .map(MovieService::toAwardsResult)
+            .map(result -> databasePublished.updateAndGet(current -> {
+                if (current != null && current.result().equals(result)) {
+                    return current;
+                }
+                long version = current == null ? 1 : current.version() + 1;
+                return new AwardIntervalIndex.Published(version, Instant.now(), result);
+            }));
+    }
+
+    private static MovieAwardsResultResponseDTO toAwardsResult(List<AwardIntervalExtremeDTO> extremes) {
+        var min = new ArrayList<MovieAwardsResultDTO>();
+        var max = new ArrayList<MovieAwardsResultDTO>();
+        for (var extreme : extremes) {
+            var interval = MovieAwardsResultDTO.builder()
+                .producers(extreme.producers())
+                .interval(extreme.followingWin() - extreme.previousWin())
+                .previousWin(extreme.previousWin())
+                .followingWin(extreme.followingWin())
+                .build();
+            ("min".equals(extreme.kind()) ? min : max).add(interval);
+        }
+        return MovieAwardsResultResponseDTO.builder()
+            .min(List.copyOf(min))
+            .max(List.copyOf(max))
+            .build();
+    }
+
+    public Mono<MovieAwardsRankingDTO> getTopIntervals(int limit) {
+        return loadAwardIntervalIndex()
+            .then(Mono.fromSupplier(() -> {
+                var shortest = new IntervalHeap(limit, true);
+                var longest = new IntervalHeap(limit, false);
+                awardIntervalIndex.forEachInterval((producerId, previousWin, followingWin) -> {
+                    shortest.offer(producerId, previousWin, followingWin);
+                    longest.offer(producerId, previousWin, followingWin);
+                });
+                return MovieAwardsRankingDTO.builder()
+                    .shortest(shortest.drain(awardIntervalIndex::producerName))
+                    .longest(longest.drain(awardIntervalIndex::producerName))
+                    .build();
+            }));
+    }
+
+    public Flux<IntervalHistogramBucketDTO> getIntervalHistogram() {
+        return loadAwardIntervalIndex()
+            .then(Mono.fromSupplier(() -> {
+                var histogram = new IntervalHistogram();
+                awardIntervalIndex.forEachInterval((producerId, previousWin, followingWin) ->
+                    histogram.add(followingWin - previousWin));
+                return histogram.buckets();
+            }))
+            .flatMapIterable(buckets -> buckets);
+    }
+
+    public Flux<ProducerIntervalDTO> streamIntervals(IntervalQuery query) {
+        return loadAwardIntervalIndex()
+            .thenMany(Flux.defer(() -> {
+                int producerId = query.producer() == null ? -1 : awardIntervalIndex.producerId(query.producer());
+                if (query.producer() != null && producerId < 0) {
+                    return Flux.empty();
+                }
+
+                int fromYear = query.fromYear() == null ? Integer.MIN_VALUE : query.fromYear();
+                int toYear = query.toYear() == null ? Integer.MAX_VALUE : query.toYear();
+                return Flux.<List<ProducerIntervalDTO>, IntervalPage>generate(
+                        () -> {
+                            var page = new IntervalPage(INTERVAL_PAGE_SIZE);
+                            if (query.cursor() != null) {
+                                page.resumeAfter(query.cursor());
+                            }
+                            return page;
+                        },
+                        (page, sink) -> {
+                            if (page.exhausted) {
+                                sink.complete();
+                                return page;
+                            }
+                            awardIntervalIndex.fillPage(page, producerId, fromYear, toYear);
+                            sink.next(toIntervals(page));
+                            return page;
+                        })
+                    .concatMapIterable(intervals -> intervals);
+            }));
+    }
+
+    private List<ProducerIntervalDTO> toIntervals(IntervalPage page) {
+        var intervals = new ArrayList<ProducerIntervalDTO>(page.size);
+        for (int i = 0; i < page.size; i++) {
+            intervals.add(ProducerIntervalDTO.builder()
+                .producers(awardIntervalIndex.producerName(page.producerIds[i]))
+                .interval(page.followingWins[i] - page.previousWins[i])
+                .previousWin(page.previousWins[i])
+                .followingWin(page.followingWins[i])
+                .cursor(page.cursorAt(i))
+                .build());
+        }
+        return intervals;
+    }
+
+    public Flux<AwardIntervalIndex.Published> awardsResultUpdates() {
+        return loadAwardIntervalIndex()
+            .thenMany(awardIntervalIndex.updates())
+            .distinctUntilChanged(AwardIntervalIndex.Published::result);
+    }
+
+    public Flux<MovieEntity> searchMovies(MovieSearchQuery query, int limit) {
+        return Mono.fromCallable(() -> movieSearchIndex.search(query, limit))
+            .flatMapMany(movieIds -> movieIds.length == 0 ? Flux.empty() : repository
+                .findAllById(Arrays.stream(movieIds).mapToObj(Long::valueOf).toList())
+                .sort(Comparator.comparing(MovieEntity::id)));
+    }
+
+    public Mono<ProducerAwardsDTO> getProducerAwards(String producer) {
+        return loadAwardIntervalIndex()
+            .then(Mono.fromSupplier(() -> awardIntervalIndex.producerAwards(producer)));
+    }
+
+    public Flux<IntervalPercentilesDTO> getIntervalPercentiles(IntervalGrouping grouping) {
+        return repository.getProducerWinsWithStudios()
+            .collect(() -> new GroupedIntervals(grouping), GroupedIntervals::add)
+            .flatMapIterable(GroupedIntervals::percentiles);
+    }
+
+    public Mono<MovieEntity> getMovie(Long id) {
+        return repository.findById(id);
+    }
+
+    public Mono<MovieEntity> saveMovie(MovieEntity movie) {
+        return repository.insertMovie(movie)
+            .doOnNext(saved -> {
+                updateIndex(() -> awardIntervalIndex.add(saved));
+                movieSearchIndex.add(saved);
+            });
+    }
+
+    public Mono<MovieEntity> updateMovie(Long id, MovieEntity movie) {
+        var updated = MovieEntity.builder()
+            .id(id)
+            .years(movie.years())
+            .title(movie.title())
+            .studios(movie.studios())
+            .producers(movie.producers())
+            .winner(movie.winner())
+            .build();
+
+        return repository.updateMovie(updated)
+            .doOnNext(update -> {
+                updateIndex(() -> awardIntervalIndex.replace(update.previous(), update.updated()));
+                movieSearchIndex.replace(update.previous(), update.updated());
+            })
+            .map(MovieBatchRepository.MovieUpdate::updated);
+    }
+
+    public Mono<MovieEntity> deleteMovie(Long id) {
+        return repository.deleteMovie(id)
+            .doOnNext(movie -> {
+                updateIndex(() -> awardIntervalIndex.remove(movie));
+                movieSearchIndex.remove(movie);
+            });
+    }
+
+    public Mono<MovieBulkResultDTO> insertMovies(Flux<MovieEntity> movies) {
+        var rejected = new AtomicLong();
+        return movies
+            .<MovieEntity>handle((movie, sink) -> {
+                if (isValid(movie)) {
+                    sink.next(movie);
+                } else {
+                    rejected.incrementAndGet();
+                }
             })
-            .toList();
-    }
-
-    private List<MovieAwardsResultDTO> getMaxIntervalResult(List<MovieAwardsResultDTO> movieAwardResults) {
-        return movieAwardResults.stream()
-            .filter(movieAwardResult -> movieAwardResults.stream()
-                .max(Comparator.comparingInt(MovieAwardsResultDTO::interval)).stream()
-                .findAny()
-                .orElse(MovieAwardsResultDTO.builder().build()).interval()
-                .equals(movieAwardResult.interval()))
-            .toList();
-    }
-
-    private List<MovieAwardsResultDTO> getMinIntervalResult(List<MovieAwardsResultDTO> movieAwardResults) {
-        return movieAwardResults.stream()
-            .filter(movieAwardResult -> movieAwardResults.stream()
-                .min(Comparator.comparingInt(MovieAwardsResultDTO::interval)).stream()
-                .findAny()
-                .orElse(MovieAwardsResultDTO.builder().build()).interval()
-                .equals(movieAwardResult.interval()))
-            .toList();
+            .buffer(ingestionBatchSize)
+            .concatMap(batch -> insertBatch(batch)
+                .doOnNext(saved -> {
+                    updateIndex(() -> awardIntervalIndex.addAll(saved));
+                    movieSearchIndex.addAll(saved);
+                }))
+            .reduce(0L, (rows, saved) -> rows + saved.size())
+            .doOnNext(inserted -> {
+                movieMetrics.ingestionRowsInserted.increment(inserted);
+                movieMetrics.ingestionRowsRejected.increment(rejected.get());
+            })
+            .map(inserted -> MovieBulkResultDTO.builder()
+                .inserted(inserted)
+                .rejected(rejected.get())
+                .build());
+    }
+
+    /**
+     * Swaps the movies of {@code removedIds} for {@code added} in the database and in the indexes.
+     */
+    public Mono<List<MovieEntity>> replaceMovies(List<Long> removedIds, List<MovieEntity> added) {
+        return repository.replaceBatch(removedIds, added, ingestionBatchSize)
+            .doOnNext(replace -> {
+                updateIndex(() -> awardIntervalIndex.replaceAll(replace.removed(), replace.added()));
+                movieSearchIndex.replaceAll(replace.removed(), replace.added());
+            })
+            .map(MovieBatchRepository.MovieReplace::added);
+    }
+
+    private void updateIndex(Runnable update) {
+        movieMetrics.awardsIndexUpdate.record(update);
+    }
+
+    public static boolean isValid(MovieEntity movie) {
+        return movie.years() > 0;
     }
 }
@@ -0,0 +1,159 @@
+package br.outsera.movies.service;
+
+import br.outsera.movies.csv.CsvReadListener;
+import br.outsera.movies.csv.MovieCsvReader;
+import br.outsera.movies.model.CatalogStatusDTO;
+import br.outsera.movies.model.MovieAwardsResultResponseDTO;
+import br.outsera.movies.model.MovieEntity;
+import br.outsera.movies.repository.CatalogPartition;
+import br.outsera.movies.repository.ProducerDictionary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Builder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A catalog served under {@code /catalog/{name}}, isolated from the default one and from each other.
+ */
+@Slf4j
+public class NamedCatalog implements AutoCloseable {
+
+    static final int DEFAULT_THREADS = 2;
+    private static final int QUEUED_TASKS = 100_000;
+
+    @Builder
+    public record Settings(String path, Character separator, String url, Long maxMovies, Integer threads) {
+    }
+
+    private final String name;
+    private final Settings settings;
+    private final CatalogPartition partition;
+    private final AwardIntervalIndex awardIntervalIndex;
+    private final Scheduler scheduler;
+    private final Timer loadTimer;
+    private final Timer queryTimer;
+    private final Sinks.One<Void> ready = Sinks.one();
+    private final AtomicLong movies = new AtomicLong();
+
+    private volatile CatalogLoadTracker.Phase phase = CatalogLoadTracker.Phase.PENDING;
+
+    NamedCatalog(String name, Settings settings, CatalogPartition partition, ProducerDictionary producerDictionary,
+                 MeterRegistry meterRegistry) {
+        this.name = name;
+        this.settings = settings;
+        this.partition = partition;
+        this.awardIntervalIndex = new AwardIntervalIndex(producerDictionary);
+        this.scheduler = Schedulers.newBoundedElastic(
+            settings.threads() == null ? DEFAULT_THREADS : settings.threads(), QUEUED_TASKS, "catalog-" + name);
+        this.loadTimer = Timer.builder("catalogs.load")
+            .tag("catalog", name)
+            .description("Tempo de carga de um catálogo nomeado")
+            .register(meterRegistry);
+        this.queryTimer = Timer.builder("catalogs.awards.query")
+            .tag("catalog", name)
+            .description("Tempo de resposta do resultado dos prêmios de um catálogo nomeado")
+            .register(meterRegistry);
+        Gauge.builder("catalogs.movies", movies, AtomicLong::get)
+            .tag("catalog", name)
+            .description("Filmes carregados em um catálogo nomeado")
+            .register(meterRegistry);
+        Gauge.builder("catalogs.ready", this, catalog -> catalog.phase == CatalogLoadTracker.Phase.READY ? 1 : 0)
+            .tag("catalog", name)
+            .description("Indica se um catálogo nomeado terminou de carregar")
+            .register(meterRegistry);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Loads the CSV into an emptied partition and builds the index from it, all on this catalog's scheduler.
+     */
+    Mono<Long> load(Resource resource, MovieCsvReader movieCsvReader, int batchSize) {
+        return Mono.defer(() -> {
+                long startedAt = System.nanoTime();
+                long maxMovies = settings.maxMovies() == null ? Long.MAX_VALUE : settings.maxMovies();
+                var read = new AtomicLong();
+                var failure = new AtomicReference<Throwable>();
+                var listener = new CsvReadListener() {
+                    @Override
+                    public void readFailed(Throwable error) {
+                        failure.set(error);
+                    }
+                };
+                phase = CatalogLoadTracker.Phase.LOADING;
+
+                return partition.reset()
+                    .thenMany(movieCsvReader.read(resource, settings.separator() == null ? ';' : settings.separator(),
+                        listener))
+                    .concatWith(Mono.defer(() -> failure.get() == null
+                        ? Mono.<MovieEntity>empty()
+                        : Mono.error(failure.get())))
+                    .<MovieEntity>handle((movie, sink) -> {
+                        if (read.incrementAndGet() > maxMovies) {
+                            sink.error(new IllegalStateException(
+                                "O catálogo " + name + " excede o limite de " + maxMovies + " filmes"));
+                        } else {
+                            sink.next(movie);
+                        }
+                    })
+                    .buffer(batchSize)
+                    .concatMap(partition::insertBatch)
+                    .reduce(0L, (rows, saved) -> rows + saved.size())
+                    .flatMap(rows -> partition.getProducerWins()
+                        .collect(AwardIntervalIndex.Wins::new, AwardIntervalIndex.Wins::add)
+                        .publishOn(scheduler)
+                        .doOnNext(awardIntervalIndex::rebuild)
+                        .thenReturn(rows))
+                    .doOnNext(rows -> {
+                        long elapsedNanos = System.nanoTime() - startedAt;
+                        loadTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+                        movies.set(rows);
+                        phase = CatalogLoadTracker.Phase.READY;
+                        ready.tryEmitEmpty();
+                        log.info("Catálogo {} pronto: {} filmes carregados em {} ms",
+                            name, rows, TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+                    })
+                    .doOnError(error -> {
+                        phase = CatalogLoadTracker.Phase.FAILED;
+                        ready.tryEmitError(error);
+                        log.error("Falha na carga do catálogo {}", name, error);
+                    });
+            })
+            .subscribeOn(scheduler);
+    }
+
+    /**
+     * The awards result once the catalog is loaded, or the error that failed its load.
+     */
+    public Mono<MovieAwardsResultResponseDTO> getAwardsResult() {
+        return MovieMetrics.timed(queryTimer, ready.asMono()
+            .then(Mono.fromSupplier(awardIntervalIndex::getResult)
+                .subscribeOn(scheduler)));
+    }
+
+    public CatalogStatusDTO status() {
+        return CatalogStatusDTO.builder()
+            .name(name)
+            .phase(phase.name())
+            .movies(movies.get())
+            .build();
+    }
+
+    @Override
+    public void close() {
+        scheduler.dispose();
+        partition.close();
+    }
+}
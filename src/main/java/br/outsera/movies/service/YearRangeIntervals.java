@@ -0,0 +1,290 @@
+package br.outsera.movies.service;
+
+import java.util.Arrays;
+
+/**
+ * Two-dimensional segment tree of award intervals for year window queries.
+ */
+final class YearRangeIntervals {
+
+    static final int MAX_YEARS = 1 << 8;
+
+    private static final int NONE_MIN = Integer.MAX_VALUE;
+    private static final int NONE_MAX = Integer.MIN_VALUE;
+    private static final int[] NO_PRODUCERS = new int[0];
+
+    private final int[] years;
+    private final int size;
+    private final int width;
+    private final int[] min;
+    private final int[] max;
+    private final int[][] producers;
+    private final int[] counts;
+
+    private YearRangeIntervals(int[] years) {
+        int leaves = 1;
+        while (leaves < years.length) {
+            leaves <<= 1;
+        }
+        this.years = years;
+        size = leaves;
+        width = leaves << 1;
+        min = new int[width * width];
+        max = new int[width * width];
+        Arrays.fill(min, NONE_MIN);
+        Arrays.fill(max, NONE_MAX);
+        producers = new int[leaves * leaves][];
+        counts = new int[leaves * leaves];
+    }
+
+    /**
+     * Indexes the consecutive wins of each producer; {@code null} above {@link #MAX_YEARS} distinct years.
+     */
+    static YearRangeIntervals of(int[][] winsByProducer) {
+        int total = 0;
+        for (var years : winsByProducer) {
+            total += years == null ? 0 : years.length;
+        }
+        var allYears = new int[total];
+        int offset = 0;
+        for (var years : winsByProducer) {
+            if (years != null) {
+                System.arraycopy(years, 0, allYears, offset, years.length);
+                offset += years.length;
+            }
+        }
+        Arrays.sort(allYears);
+        int distinct = 0;
+        for (int i = 0; i < total; i++) {
+            if (i == 0 || allYears[i] != allYears[i - 1]) {
+                allYears[distinct++] = allYears[i];
+            }
+        }
+        if (distinct > MAX_YEARS) {
+            return null;
+        }
+
+        var index = new YearRangeIntervals(Arrays.copyOf(allYears, distinct));
+        for (int producerId = 0; producerId < winsByProducer.length; producerId++) {
+            var years = winsByProducer[producerId];
+            for (int i = 1; years != null && i < years.length; i++) {
+                index.append(producerId, years[i - 1], years[i]);
+            }
+        }
+        index.build();
+        return index;
+    }
+
+    /**
+     * Indexes the pairs changed by inserting {@code year}; {@code false} when the tree must be rebuilt.
+     */
+    boolean insert(int producerId, int[] wins, int position, int year) {
+        if (Arrays.binarySearch(years, year) < 0) {
+            return false;
+        }
+        boolean hasPrevious = position > 0;
+        boolean hasFollowing = position < wins.length;
+        if (hasPrevious && hasFollowing) {
+            remove(producerId, wins[position - 1], wins[position]);
+        }
+        if (hasPrevious) {
+            add(producerId, wins[position - 1], year);
+        }
+        if (hasFollowing) {
+            add(producerId, year, wins[position]);
+        }
+        return true;
+    }
+
+    /**
+     * Unindexes the pairs changed by removing the win at {@code position}.
+     */
+    void delete(int producerId, int[] wins, int position) {
+        int year = wins[position];
+        boolean hasPrevious = position > 0;
+        boolean hasFollowing = position < wins.length - 1;
+        if (hasPrevious) {
+            remove(producerId, wins[position - 1], year);
+        }
+        if (hasFollowing) {
+            remove(producerId, year, wins[position + 1]);
+        }
+        if (hasPrevious && hasFollowing) {
+            add(producerId, wins[position - 1], wins[position + 1]);
+        }
+    }
+
+    /**
+     * Passes every interval within {@code [fromYear, toYear]} tied at the smallest (or largest) one.
+     */
+    void forEachExtreme(boolean lowest, int fromYear, int toYear, AwardIntervalIndex.IntervalConsumer consumer) {
+        int from = rankFrom(fromYear);
+        int to = rankTo(toYear);
+        var tree = lowest ? min : max;
+        var extreme = new int[] {lowest ? NONE_MIN : NONE_MAX};
+        forEachNode(from, to, node -> extreme[0] = lowest
+            ? Math.min(extreme[0], tree[node])
+            : Math.max(extreme[0], tree[node]));
+        if (extreme[0] == (lowest ? NONE_MIN : NONE_MAX)) {
+            return;
+        }
+        forEachNode(from, to, node -> collect(tree, extreme[0], node / width, node % width, consumer));
+    }
+
+    private int rankFrom(int fromYear) {
+        int rank = Arrays.binarySearch(years, fromYear);
+        return rank < 0 ? -rank - 1 : rank;
+    }
+
+    private int rankTo(int toYear) {
+        int rank = Arrays.binarySearch(years, toYear);
+        return rank < 0 ? -rank - 1 : rank + 1;
+    }
+
+    /**
+     * Visits the nodes covering the square of ranks {@code [from, to)} on both dimensions.
+     */
+    private void forEachNode(int from, int to, NodeConsumer consumer) {
+        for (int low = from + size, high = to + size; low < high; low >>= 1, high >>= 1) {
+            if ((low & 1) == 1) {
+                forEachInnerNode(low++, from, to, consumer);
+            }
+            if ((high & 1) == 1) {
+                forEachInnerNode(--high, from, to, consumer);
+            }
+        }
+    }
+
+    private void forEachInnerNode(int outer, int from, int to, NodeConsumer consumer) {
+        for (int low = from + size, high = to + size; low < high; low >>= 1, high >>= 1) {
+            if ((low & 1) == 1) {
+                consumer.accept(outer * width + low++);
+            }
+            if ((high & 1) == 1) {
+                consumer.accept(outer * width + --high);
+            }
+        }
+    }
+
+    private void collect(int[] tree, int extreme, int outer, int inner, AwardIntervalIndex.IntervalConsumer consumer) {
+        if (tree[outer * width + inner] != extreme) {
+            return;
+        }
+        if (outer < size) {
+            collect(tree, extreme, outer << 1, inner, consumer);
+            collect(tree, extreme, outer << 1 | 1, inner, consumer);
+        } else if (inner < size) {
+            collect(tree, extreme, outer, inner << 1, consumer);
+            collect(tree, extreme, outer, inner << 1 | 1, consumer);
+        } else {
+            int cell = (outer - size) * size + inner - size;
+            for (int i = 0; i < counts[cell]; i++) {
+                consumer.accept(producers[cell][i], years[outer - size], years[inner - size]);
+            }
+        }
+    }
+
+    private void append(int producerId, int previousWin, int followingWin) {
+        int cell = cellOf(previousWin, followingWin);
+        var list = producers[cell] == null ? NO_PRODUCERS : producers[cell];
+        if (counts[cell] == list.length) {
+            list = Arrays.copyOf(list, Math.max(4, list.length << 1));
+            producers[cell] = list;
+        }
+        list[counts[cell]++] = producerId;
+    }
+
+    private void add(int producerId, int previousWin, int followingWin) {
+        int cell = cellOf(previousWin, followingWin);
+        int count = counts[cell];
+        var list = producers[cell] == null ? NO_PRODUCERS : producers[cell];
+        int position = Arrays.binarySearch(list, 0, count, producerId);
+        if (position < 0) {
+            position = -position - 1;
+        }
+        if (count == list.length) {
+            list = Arrays.copyOf(list, Math.max(4, count << 1));
+            producers[cell] = list;
+        }
+        System.arraycopy(list, position, list, position + 1, count - position);
+        list[position] = producerId;
+        counts[cell] = count + 1;
+        if (count == 0) {
+            update(cell, followingWin - previousWin, followingWin - previousWin);
+        }
+    }
+
+    private void remove(int producerId, int previousWin, int followingWin) {
+        int cell = cellOf(previousWin, followingWin);
+        int count = counts[cell];
+        int position = count == 0 ? -1 : Arrays.binarySearch(producers[cell], 0, count, producerId);
+        if (position < 0) {
+            return;
+        }
+        System.arraycopy(producers[cell], position + 1, producers[cell], position, count - position - 1);
+        counts[cell] = --count;
+        if (count == 0) {
+            producers[cell] = null;
+            update(cell, NONE_MIN, NONE_MAX);
+        }
+    }
+
+    private int cellOf(int previousWin, int followingWin) {
+        return Arrays.binarySearch(years, previousWin) * size + Arrays.binarySearch(years, followingWin);
+    }
+
+    private void update(int cell, int lowest, int highest) {
+        int outer = size + cell / size;
+        int inner = size + cell % size;
+        min[outer * width + inner] = lowest;
+        max[outer * width + inner] = highest;
+        for (int node = inner >> 1; node > 0; node >>= 1) {
+            pullInner(outer, node);
+        }
+        for (int node = outer >> 1; node > 0; node >>= 1) {
+            for (int column = inner; column > 0; column >>= 1) {
+                pullOuter(node, column);
+            }
+        }
+    }
+
+    private void build() {
+        for (int cell = 0; cell < counts.length; cell++) {
+            if (counts[cell] > 0) {
+                int interval = years[cell % size] - years[cell / size];
+                min[(size + cell / size) * width + size + cell % size] = interval;
+                max[(size + cell / size) * width + size + cell % size] = interval;
+            }
+        }
+        for (int outer = size; outer < width; outer++) {
+            for (int inner = size - 1; inner > 0; inner--) {
+                pullInner(outer, inner);
+            }
+        }
+        for (int outer = size - 1; outer > 0; outer--) {
+            for (int inner = 1; inner < width; inner++) {
+                pullOuter(outer, inner);
+            }
+        }
+    }
+
+    private void pullInner(int outer, int inner) {
+        int node = outer * width + inner;
+        int left = outer * width + (inner << 1);
+        min[node] = Math.min(min[left], min[left + 1]);
+        max[node] = Math.max(max[left], max[left + 1]);
+    }
+
+    private void pullOuter(int outer, int inner) {
+        int node = outer * width + inner;
+        int left = (outer << 1) * width + inner;
+        min[node] = Math.min(min[left], min[left + width]);
+        max[node] = Math.max(max[left], max[left + width]);
+    }
+
+    @FunctionalInterface
+    private interface NodeConsumer {
+
+        void accept(int node);
+    }
+}
@@ -0,0 +1,308 @@
+package br.outsera.movies.snapshot;
+
+import br.outsera.movies.model.MovieEntity;
+import reactor.core.publisher.Flux;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Columnar image of the catalog over a shared string pool, checked by a CRC32C trailer.
+ */
+public final class CatalogSnapshot {
+
+    static final int MAGIC = 0x4D4F5653;
+    static final int VERSION = 3;
+    static final int DICTIONARY_LIMIT = 1 << 16;
+
+    private static final int HEADER_BYTES = Integer.BYTES * 4 + Long.BYTES;
+    private static final int TRAILER_BYTES = Long.BYTES;
+    private static final int NULL_STRING = -1;
+
+    private final long sourceFingerprint;
+    private final int size;
+    private final int strings;
+    private final ByteBuffer years;
+    private final ByteBuffer winners;
+    private final ByteBuffer titles;
+    private final ByteBuffer studios;
+    private final ByteBuffer producers;
+    private final ByteBuffer pool;
+
+    private CatalogSnapshot(long sourceFingerprint, int size, int strings, ByteBuffer columns) {
+        this.sourceFingerprint = sourceFingerprint;
+        this.size = size;
+        this.strings = strings;
+        int column = size * Integer.BYTES;
+        int winnerBytes = (size + 7) >>> 3;
+        this.years = columns.slice(0, column);
+        this.winners = columns.slice(column, winnerBytes);
+        this.titles = columns.slice(column + winnerBytes, column);
+        this.studios = columns.slice(column * 2 + winnerBytes, column);
+        this.producers = columns.slice(column * 3 + winnerBytes, column);
+        this.pool = columns.slice(column * 4 + winnerBytes, columns.limit() - column * 4 - winnerBytes);
+    }
+
+    public long sourceFingerprint() {
+        return sourceFingerprint;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Flux<MovieEntity> movies() {
+        return Flux.defer(() -> {
+            var pool = strings();
+            return Flux.range(0, size)
+                .map(row -> movie(row, pool));
+        });
+    }
+
+    private MovieEntity movie(int row, String[] pool) {
+        int offset = row * Integer.BYTES;
+        return MovieEntity.builder()
+            .years(years.getInt(offset))
+            .title(string(pool, titles.getInt(offset)))
+            .studios(string(pool, studios.getInt(offset)))
+            .producers(string(pool, producers.getInt(offset)))
+            .winner((winners.get(row >>> 3) >>> (row & 7) & 1) != 0)
+            .build();
+    }
+
+    private static String string(String[] pool, int reference) {
+        return reference == NULL_STRING ? null : pool[reference];
+    }
+
+    private String[] strings() {
+        var buffer = pool.duplicate();
+        var values = new String[strings];
+        for (int i = 0; i < strings; i++) {
+            var bytes = new byte[buffer.getInt()];
+            buffer.get(bytes);
+            values[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return values;
+    }
+
+    public static CatalogSnapshot read(Path file) throws IOException {
+        ByteBuffer buffer;
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        if (buffer.limit() < HEADER_BYTES + TRAILER_BYTES) {
+            throw new IOException("Snapshot truncado: " + file);
+        }
+
+        var checksum = new CRC32C();
+        checksum.update(buffer.slice(0, buffer.limit() - TRAILER_BYTES));
+        if (checksum.getValue() != buffer.getLong(buffer.limit() - TRAILER_BYTES)) {
+            throw new IOException("Checksum inválido no snapshot: " + file);
+        }
+        if (buffer.getInt() != MAGIC) {
+            throw new IOException("Arquivo não é um snapshot do catálogo: " + file);
+        }
+
+        int version = buffer.getInt();
+        if (version != VERSION) {
+            throw new IOException("Versão de snapshot não suportada: " + version);
+        }
+
+        long sourceFingerprint = buffer.getLong();
+        int size = buffer.getInt();
+        int strings = buffer.getInt();
+        int columnBytes = buffer.limit() - HEADER_BYTES - TRAILER_BYTES;
+        if (size < 0 || strings < 0 || (long) size * Integer.BYTES * 4 + ((size + 7) >>> 3) > columnBytes) {
+            throw new IOException("Snapshot truncado: " + file);
+        }
+        return new CatalogSnapshot(sourceFingerprint, size, strings, buffer.slice(HEADER_BYTES, columnBytes));
+    }
+
+    /**
+     * Starts a snapshot of {@code file}; each column is spilled to its own temporary file as rows are added.
+     */
+    public static Writer writer(Path file, long sourceFingerprint) {
+        return new Writer(file, sourceFingerprint);
+    }
+
+    public static final class Writer {
+
+        private final Path file;
+        private final Path temporary;
+        private final long sourceFingerprint;
+        private final Map<String, Integer> dictionary = new HashMap<>();
+        private Column years;
+        private Column winners;
+        private Column titles;
+        private Column studios;
+        private Column producers;
+        private Column pool;
+        private IOException failure;
+        private int size;
+        private int strings;
+        private int winnerBits;
+        private boolean committed;
+
+        private Writer(Path file, long sourceFingerprint) {
+            this.file = file;
+            this.temporary = file.resolveSibling(file.getFileName() + ".tmp");
+            this.sourceFingerprint = sourceFingerprint;
+            try {
+                var directory = file.toAbsolutePath().getParent();
+                if (directory != null) {
+                    Files.createDirectories(directory);
+                }
+                years = new Column(file, "years");
+                winners = new Column(file, "winners");
+                titles = new Column(file, "titles");
+                studios = new Column(file, "studios");
+                producers = new Column(file, "producers");
+                pool = new Column(file, "strings");
+            } catch (IOException e) {
+                fail(e);
+            }
+        }
+
+        public void add(MovieEntity movie) {
+            if (failure != null) {
+                return;
+            }
+            try {
+                years.output.writeInt(movie.years());
+                titles.output.writeInt(reference(movie.title()));
+                studios.output.writeInt(reference(movie.studios()));
+                producers.output.writeInt(reference(movie.producers()));
+                if (Boolean.TRUE.equals(movie.winner())) {
+                    winnerBits |= 1 << (size & 7);
+                }
+                if ((++size & 7) == 0) {
+                    winners.output.writeByte(winnerBits);
+                    winnerBits = 0;
+                }
+            } catch (IOException e) {
+                fail(e);
+            }
+        }
+
+        /**
+         * Pool index of {@code value}; only the first {@value #DICTIONARY_LIMIT} distinct values are reused.
+         */
+        private int reference(String value) throws IOException {
+            if (value == null) {
+                return NULL_STRING;
+            }
+            var known = dictionary.get(value);
+            if (known != null) {
+                return known;
+            }
+
+            var bytes = value.getBytes(StandardCharsets.UTF_8);
+            pool.output.writeInt(bytes.length);
+            pool.output.write(bytes);
+            if (dictionary.size() < DICTIONARY_LIMIT) {
+                dictionary.put(value, strings);
+            }
+            return strings++;
+        }
+
+        /**
+         * Concatenates the columns behind the header and moves the snapshot into place, returning the rows written.
+         */
+        public int commit() throws IOException {
+            if (failure == null) {
+                try {
+                    if ((size & 7) != 0) {
+                        winners.output.writeByte(winnerBits);
+                    }
+                    var columns = List.of(years, winners, titles, studios, producers, pool);
+                    for (Column column : columns) {
+                        column.output.close();
+                    }
+
+                    var checksum = new CRC32C();
+                    try (var output = new DataOutputStream(new CheckedOutputStream(
+                        new BufferedOutputStream(Files.newOutputStream(temporary), 1 << 16), checksum))) {
+                        output.writeInt(MAGIC);
+                        output.writeInt(VERSION);
+                        output.writeLong(sourceFingerprint);
+                        output.writeInt(size);
+                        output.writeInt(strings);
+                        for (Column column : columns) {
+                            Files.copy(column.path, output);
+                        }
+                        output.writeLong(checksum.getValue());
+                    }
+                    Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    committed = true;
+                    discard();
+                } catch (IOException e) {
+                    fail(e);
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            return size;
+        }
+
+        public void abort() {
+            if (!committed) {
+                discard();
+            }
+        }
+
+        private void fail(IOException e) {
+            failure = e;
+            discard();
+        }
+
+        private void discard() {
+            for (Column column : new Column[]{years, winners, titles, studios, producers, pool}) {
+                if (column != null) {
+                    column.delete();
+                }
+            }
+            if (!committed) {
+                try {
+                    Files.deleteIfExists(temporary);
+                } catch (IOException ignored) {
+                    // the next snapshot overwrites the temporary file
+                }
+            }
+        }
+    }
+
+    private static final class Column {
+
+        private final Path path;
+        private final DataOutputStream output;
+
+        Column(Path file, String name) throws IOException {
+            this.path = file.resolveSibling(file.getFileName() + "." + name + ".tmp");
+            this.output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), 1 << 16));
+        }
+
+        void delete() {
+            try {
+                output.close();
+                Files.deleteIfExists(path);
+            } catch (IOException ignored) {
+                // the next snapshot overwrites the temporary file
+            }
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package br.outsera.movies.snapshot;
+
+import br.outsera.movies.model.MovieEntity;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Supplier;
+import java.util.zip.CRC32C;
+
+@Slf4j
+@Component
+public class CatalogSnapshotStore {
+
+    @Value("${api.snapshot.enabled}")
+    public Boolean enabled;
+    @Value("${api.snapshot.path}")
+    public String path;
+    @Value("${api.snapshot.strict}")
+    public Boolean strict;
+
+    public Flux<MovieEntity> load(Resource source, char separator, Supplier<Flux<MovieEntity>> parser) {
+        if (!Boolean.TRUE.equals(enabled)) {
+            return parser.get();
+        }
+
+        return Mono.fromCallable(() -> fingerprint(source, separator, Boolean.TRUE.equals(strict)))
+            .subscribeOn(Schedulers.boundedElastic())
+            .flatMapMany(fingerprint -> read(fingerprint)
+                .flatMapMany(CatalogSnapshot::movies)
+                .switchIfEmpty(Flux.using(() -> CatalogSnapshot.writer(Path.of(path), fingerprint),
+                    writer -> parser.get()
+                        .doOnNext(writer::add)
+                        .concatWith(Mono.<MovieEntity>fromRunnable(() -> commit(writer))),
+                    CatalogSnapshot.Writer::abort)));
+    }
+
+    private Mono<CatalogSnapshot> read(long fingerprint) {
+        var file = Path.of(path);
+        return Mono.fromCallable(() -> Files.exists(file) ? CatalogSnapshot.read(file) : null)
+            .subscribeOn(Schedulers.boundedElastic())
+            .filter(snapshot -> {
+                if (snapshot.sourceFingerprint() != fingerprint) {
+                    log.info("Snapshot {} desatualizado em relação ao CSV, o catálogo será recarregado", file);
+                    return false;
+                }
+                log.info("Carregando catálogo do snapshot {} ({} filmes)", file, snapshot.size());
+                return true;
+            })
+            .onErrorResume(error -> {
+                log.warn("Snapshot {} inválido, o catálogo será recarregado do CSV", file, error);
+                return Mono.empty();
+            });
+    }
+
+    private void commit(CatalogSnapshot.Writer writer) {
+        var file = Path.of(path);
+        try {
+            int rows = writer.commit();
+            log.info("Snapshot do catálogo gravado em {} ({} filmes)", file, rows);
+        } catch (IOException e) {
+            log.warn("Falha ao gravar o snapshot do catálogo em {}", file, e);
+        }
+    }
+
+    /**
+     * Length and modification time of the CSV, or with {@code strict} a CRC32C of its whole content.
+     */
+    static long fingerprint(Resource source, char separator, boolean strict) throws IOException {
+        if (!strict) {
+            return (source.contentLength() * 31 + source.lastModified()) * 31 + separator;
+        }
+
+        var checksum = new CRC32C();
+        long length = 0;
+        try (InputStream input = source.getInputStream()) {
+            var buffer = new byte[1 << 16];
+            int read;
+            while ((read = input.read(buffer)) > 0) {
+                checksum.update(buffer, 0, read);
+                length += read;
+            }
+        }
+        checksum.update(separator);
+        return length << 32 | checksum.getValue();
+    }
+}
@@ -1,8 +1,31 @@
-CREATE TABLE MOVIE (
-    id IDENTITY PRIMARY KEY,
-    years VARCHAR(255),
+CREATE TABLE IF NOT EXISTS MOVIE (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    years INT NOT NULL,
     title VARCHAR(255),
     studios VARCHAR(255),
     producers VARCHAR(255),
-    winner BOOLEAN
-);
\ No newline at end of file
+    winner BOOLEAN NOT NULL DEFAULT FALSE
+);
+
+CREATE INDEX IF NOT EXISTS IDX_MOVIE_WINNER_YEARS ON MOVIE (winner, years);
+
+CREATE TABLE IF NOT EXISTS PRODUCER (
+    id INT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(255) NOT NULL UNIQUE
+);
+
+CREATE TABLE IF NOT EXISTS MOVIE_PRODUCER (
+    movie_id BIGINT NOT NULL,
+    producer_id INT NOT NULL,
+    PRIMARY KEY (movie_id, producer_id),
+    FOREIGN KEY (movie_id) REFERENCES MOVIE (id) ON DELETE CASCADE,
+    FOREIGN KEY (producer_id) REFERENCES PRODUCER (id)
+);
+
+CREATE INDEX IF NOT EXISTS IDX_MOVIE_PRODUCER_PRODUCER ON MOVIE_PRODUCER (producer_id, movie_id);
+
+CREATE TABLE IF NOT EXISTS CATALOG_LOAD (
+    id INT PRIMARY KEY,
+    status VARCHAR(16) NOT NULL,
+    started_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
@@ -0,0 +1,90 @@
+package br.outsera.movies.config;
+
+import br.outsera.movies.service.CatalogLoadTracker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CatalogReadinessFilter Tests")
+class CatalogReadinessFilterTest {
+
+    private CatalogLoadTracker catalogLoadTracker;
+    private CatalogReadinessFilter catalogReadinessFilter;
+    private AtomicBoolean chainCalled;
+    private WebFilterChain chain;
+
+    @BeforeEach
+    void setUp() {
+        catalogLoadTracker = new CatalogLoadTracker(new SimpleMeterRegistry());
+        catalogReadinessFilter = new CatalogReadinessFilter(catalogLoadTracker);
+        catalogReadinessFilter.waitTimeout = Duration.ofSeconds(5);
+        catalogReadinessFilter.retryAfter = Duration.ofSeconds(5);
+        chainCalled = new AtomicBoolean();
+        chain = exchange -> Mono.fromRunnable(() -> chainCalled.set(true));
+    }
+
+    @Test
+    @DisplayName("Deve responder 503 com Retry-After enquanto o catálogo carrega")
+    void deveResponder503EnquantoCatalogoCarrega() {
+        // Given
+        catalogReadinessFilter.gate = CatalogReadinessFilter.Gate.REJECT;
+        var exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/movie/awards-result"));
+
+        // When
+        StepVerifier.create(catalogReadinessFilter.filter(exchange, chain))
+            .verifyComplete();
+
+        // Then
+        assertFalse(chainCalled.get());
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exchange.getResponse().getStatusCode());
+        assertEquals("5", exchange.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    @DisplayName("Deve aguardar o fim da carga antes de atender a requisição")
+    void deveAguardarFimDaCarga() {
+        // Given
+        catalogReadinessFilter.gate = CatalogReadinessFilter.Gate.WAIT;
+        var load = Sinks.<Long>one();
+        catalogLoadTracker.track(load.asMono()).subscribe();
+        var exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/movie/awards-result"));
+
+        // When & Then
+        StepVerifier.create(catalogReadinessFilter.filter(exchange, chain))
+            .then(() -> assertFalse(chainCalled.get()))
+            .then(() -> load.tryEmitValue(206L))
+            .verifyComplete();
+
+        assertTrue(chainCalled.get());
+        assertTrue(catalogLoadTracker.isReady());
+        assertEquals(206L, catalogLoadTracker.getLoadedRows());
+    }
+
+    @Test
+    @DisplayName("Não deve bloquear rotas fora do catálogo")
+    void naoDeveBloquearRotasForaDoCatalogo() {
+        // Given
+        catalogReadinessFilter.gate = CatalogReadinessFilter.Gate.REJECT;
+        var exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/actuator/health"));
+
+        // When & Then
+        StepVerifier.create(catalogReadinessFilter.filter(exchange, chain))
+            .verifyComplete();
+
+        assertTrue(chainCalled.get());
+    }
+}
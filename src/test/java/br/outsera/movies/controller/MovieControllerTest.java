@@ -1,21 +1,46 @@
 package br.outsera.movies.controller;
 
+import br.outsera.movies.model.IntervalPercentilesDTO;
+import br.outsera.movies.model.MovieAwardsRankingDTO;
 import br.outsera.movies.model.MovieAwardsResultDTO;
 import br.outsera.movies.model.MovieAwardsResultResponseDTO;
+import br.outsera.movies.model.MovieBulkResultDTO;
+import br.outsera.movies.model.MovieEntity;
+import br.outsera.movies.model.ProducerIntervalDTO;
+import br.outsera.movies.service.AwardIntervalIndex;
+import br.outsera.movies.service.IntervalGrouping;
+import br.outsera.movies.service.IntervalQuery;
+import br.outsera.movies.service.MovieMetrics;
+import br.outsera.movies.service.MovieSearchQuery;
 import br.outsera.movies.service.MovieService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
 
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -25,13 +50,22 @@ class MovieControllerTest {
     @Mock
     private MovieService movieService;
 
+    @Spy
+    private AwardsResponseCache awardsResponseCache = new AwardsResponseCache(new ObjectMapper(),
+        new MovieMetrics(new SimpleMeterRegistry()));
+
     @InjectMocks
     private MovieController movieController;
 
     private WebTestClient webTestClient;
 
+    private static AwardIntervalIndex.Published publish(MovieAwardsResultResponseDTO result) {
+        return new AwardIntervalIndex.Published(1, Instant.parse("2024-01-01T00:00:00Z"), result);
+    }
+
     @BeforeEach
     void setUp() {
+        awardsResponseCache.maxAge = Duration.ofSeconds(60);
         webTestClient = WebTestClient
             .bindToController(movieController)
             .build();
@@ -60,7 +94,7 @@ class MovieControllerTest {
             .max(Collections.singletonList(maxInterval))
             .build();
 
-        when(movieService.getMovieAwardsResult()).thenReturn(Mono.just(expectedResult));
+        when(movieService.getPublishedAwardsResult()).thenReturn(Mono.just(publish(expectedResult)));
 
         // When & Then
         webTestClient.get()
@@ -77,7 +111,87 @@ class MovieControllerTest {
             .jsonPath("$.min[1]").doesNotExist()
             .jsonPath("$.max[1]").doesNotExist();
 
-        verify(movieService, times(1)).getMovieAwardsResult();
+        verify(movieService, times(1)).getPublishedAwardsResult();
+    }
+
+    @Test
+    @DisplayName("Deve retornar 304 quando o ETag informado corresponde à versão atual")
+    void deveRetornarNaoModificadoQuandoEtagCorresponde() {
+        // Given
+        var result = MovieAwardsResultResponseDTO.builder()
+            .min(Collections.emptyList())
+            .max(Collections.emptyList())
+            .build();
+
+        when(movieService.getPublishedAwardsResult()).thenReturn(Mono.just(publish(result)));
+
+        var etag = webTestClient.get()
+            .uri("/movie/awards-result")
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().cacheControl(CacheControl.maxAge(Duration.ofSeconds(60)).cachePublic())
+            .expectHeader().lastModified(Instant.parse("2024-01-01T00:00:00Z").toEpochMilli())
+            .returnResult(byte[].class)
+            .getResponseHeaders()
+            .getETag();
+
+        // When & Then
+        webTestClient.get()
+            .uri("/movie/awards-result")
+            .ifNoneMatch(etag)
+            .exchange()
+            .expectStatus().isNotModified()
+            .expectBody().isEmpty();
+
+        verify(awardsResponseCache, times(2)).encode(any());
+        verify(movieService, times(2)).getPublishedAwardsResult();
+    }
+
+    @Test
+    @DisplayName("Deve enviar a variante gzip pré-comprimida quando o cliente aceita")
+    void deveEnviarVarianteGzipQuandoClienteAceita() throws IOException {
+        // Given
+        awardsResponseCache.gzip = true;
+        var intervals = IntStream.range(0, 20)
+            .mapToObj(index -> MovieAwardsResultDTO.builder()
+                .producers("Producer " + index)
+                .interval(1)
+                .previousWin(2000 + index)
+                .followingWin(2001 + index)
+                .build())
+            .toList();
+        var result = MovieAwardsResultResponseDTO.builder()
+            .min(intervals)
+            .max(intervals)
+            .build();
+
+        when(movieService.getPublishedAwardsResult()).thenReturn(Mono.just(publish(result)));
+
+        // When
+        var response = webTestClient.get()
+            .uri("/movie/awards-result")
+            .header(HttpHeaders.ACCEPT_ENCODING, "br;q=1.0, gzip;q=0.8")
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().valueEquals(HttpHeaders.CONTENT_ENCODING, "gzip")
+            .expectHeader().valueEquals(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+            .expectBody(byte[].class)
+            .returnResult();
+
+        // Then
+        try (var input = new GZIPInputStream(new ByteArrayInputStream(response.getResponseBodyContent()))) {
+            var body = new ObjectMapper().readValue(input, MovieAwardsResultResponseDTO.class);
+            assertEquals(result, body);
+        }
+        assertTrue(response.getResponseHeaders().getETag().endsWith("-gzip\""));
+
+        webTestClient.get()
+            .uri("/movie/awards-result")
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().doesNotExist(HttpHeaders.CONTENT_ENCODING)
+            .expectBody()
+            .jsonPath("$.min[19].producers").isEqualTo("Producer 19");
     }
 
     @Test
@@ -89,7 +203,7 @@ class MovieControllerTest {
             .max(Collections.emptyList())
             .build();
 
-        when(movieService.getMovieAwardsResult()).thenReturn(Mono.just(emptyResult));
+        when(movieService.getPublishedAwardsResult()).thenReturn(Mono.just(publish(emptyResult)));
 
         // When & Then
         webTestClient.get()
@@ -102,7 +216,7 @@ class MovieControllerTest {
             .jsonPath("$.min[0]").doesNotExist()
             .jsonPath("$.max[0]").doesNotExist();
 
-        verify(movieService, times(1)).getMovieAwardsResult();
+        verify(movieService, times(1)).getPublishedAwardsResult();
     }
 
     @Test
@@ -135,7 +249,7 @@ class MovieControllerTest {
             .max(Collections.singletonList(maxInterval))
             .build();
 
-        when(movieService.getMovieAwardsResult()).thenReturn(Mono.just(expectedResult));
+        when(movieService.getPublishedAwardsResult()).thenReturn(Mono.just(publish(expectedResult)));
 
         // When & Then
         webTestClient.get()
@@ -152,14 +266,14 @@ class MovieControllerTest {
             .jsonPath("$.min[2]").doesNotExist()
             .jsonPath("$.max[2]").doesNotExist();
 
-        verify(movieService, times(1)).getMovieAwardsResult();
+        verify(movieService, times(1)).getPublishedAwardsResult();
     }
 
     @Test
     @DisplayName("Deve lidar com erro no serviço")
     void deveLidarComErroNoServico() {
         // Given
-        when(movieService.getMovieAwardsResult())
+        when(movieService.getPublishedAwardsResult())
             .thenReturn(Mono.error(new RuntimeException("Erro interno do serviço")));
 
         // When & Then
@@ -168,6 +282,304 @@ class MovieControllerTest {
             .exchange()
             .expectStatus().is5xxServerError();
 
-        verify(movieService, times(1)).getMovieAwardsResult();
+        verify(movieService, times(1)).getPublishedAwardsResult();
+    }
+
+    @Test
+    @DisplayName("Deve retornar os intervalos extremos do período sem passar pelo cache")
+    void deveRetornarIntervalosExtremosDoPeriodo() {
+        // Given
+        var interval = MovieAwardsResultDTO.builder()
+            .producers("Producer A")
+            .interval(1)
+            .previousWin(2000)
+            .followingWin(2001)
+            .build();
+
+        when(movieService.getMovieAwardsResult(1990, null)).thenReturn(Mono.just(MovieAwardsResultResponseDTO.builder()
+            .min(List.of(interval))
+            .max(List.of(interval))
+            .build()));
+
+        // When & Then
+        webTestClient.get()
+            .uri("/movie/awards-result?fromYear=1990")
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().doesNotExist(HttpHeaders.ETAG)
+            .expectBody()
+            .jsonPath("$.min[0].producers").isEqualTo("Producer A")
+            .jsonPath("$.max[0].interval").isEqualTo("1");
+
+        verify(movieService, never()).getPublishedAwardsResult();
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar período com ano inicial maior que o final")
+    void deveRejeitarPeriodoInvertido() {
+        webTestClient.get()
+            .uri("/movie/awards-result?fromYear=2000&toYear=1990")
+            .exchange()
+            .expectStatus().isBadRequest();
+
+        verifyNoInteractions(movieService);
+    }
+
+    @Test
+    @DisplayName("Deve buscar filmes combinando os filtros informados")
+    void deveBuscarFilmesCombinandoFiltros() {
+        // Given
+        var movie = MovieEntity.builder()
+            .id(3L)
+            .years(1981)
+            .title("Mommie Dearest")
+            .studios("Paramount Pictures")
+            .producers("Frank Yablans")
+            .winner(true)
+            .build();
+        var query = MovieSearchQuery.builder()
+            .studio("Paramount Pictures")
+            .winner(true)
+            .build();
+        when(movieService.searchMovies(query, 10)).thenReturn(Flux.just(movie));
+
+        // When & Then
+        webTestClient.get()
+            .uri(uriBuilder -> uriBuilder.path("/movie/search")
+                .queryParam("studio", "Paramount Pictures")
+                .queryParam("winner", true)
+                .queryParam("limit", 10)
+                .build())
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$[0].title").isEqualTo("Mommie Dearest")
+            .jsonPath("$[1]").doesNotExist();
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar busca sem filtros")
+    void deveRejeitarBuscaSemFiltros() {
+        when(movieService.searchMovies(any(), eq(100)))
+            .thenReturn(Flux.error(new IllegalArgumentException("Informe ao menos um filtro de busca")));
+
+        webTestClient.get()
+            .uri("/movie/search")
+            .exchange()
+            .expectStatus().isBadRequest();
+    }
+
+    @Test
+    @DisplayName("Deve retornar 404 para produtor inexistente")
+    void deveRetornarNaoEncontradoParaProdutorInexistente() {
+        when(movieService.getProducerAwards("Producer Z")).thenReturn(Mono.empty());
+
+        webTestClient.get()
+            .uri(uriBuilder -> uriBuilder.path("/movie/producers/{name}").build("Producer Z"))
+            .exchange()
+            .expectStatus().isNotFound();
+    }
+
+    @Test
+    @DisplayName("Deve retornar os maiores e menores intervalos")
+    void deveRetornarMaioresEMenoresIntervalos() {
+        // Given
+        var shortest = MovieAwardsResultDTO.builder()
+            .producers("Producer A")
+            .interval(1)
+            .previousWin(2000)
+            .followingWin(2001)
+            .build();
+
+        var longest = MovieAwardsResultDTO.builder()
+            .producers("Producer B")
+            .interval(13)
+            .previousWin(1990)
+            .followingWin(2003)
+            .build();
+
+        when(movieService.getTopIntervals(2)).thenReturn(Mono.just(MovieAwardsRankingDTO.builder()
+            .shortest(Arrays.asList(shortest, longest))
+            .longest(Arrays.asList(longest, shortest))
+            .build()));
+
+        // When & Then
+        webTestClient.get()
+            .uri("/movie/awards-result/top?limit=2")
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.shortest[0].producers").isEqualTo("Producer A")
+            .jsonPath("$.longest[0].producers").isEqualTo("Producer B")
+            .jsonPath("$.longest[2]").doesNotExist();
+
+        verify(movieService, times(1)).getTopIntervals(2);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar limite inválido para os maiores e menores intervalos")
+    void deveRejeitarLimiteInvalido() {
+        webTestClient.get()
+            .uri("/movie/awards-result/top?limit=0")
+            .exchange()
+            .expectStatus().isBadRequest();
+
+        verifyNoInteractions(movieService);
+    }
+
+    @Test
+    @DisplayName("Deve transmitir os intervalos em NDJSON respeitando filtros e limite")
+    void deveTransmitirIntervalosEmNdjson() {
+        // Given
+        var query = IntervalQuery.builder()
+            .producer("Producer A")
+            .fromYear(2000)
+            .cursor("abc")
+            .build();
+        when(movieService.streamIntervals(query)).thenReturn(Flux.range(0, 5)
+            .map(index -> ProducerIntervalDTO.builder()
+                .producers("Producer A")
+                .interval(1)
+                .previousWin(2000 + index)
+                .followingWin(2001 + index)
+                .cursor("c" + index)
+                .build()));
+
+        // When & Then
+        webTestClient.get()
+            .uri(uriBuilder -> uriBuilder.path("/movie/awards-result/intervals")
+                .queryParam("producer", "Producer A")
+                .queryParam("fromYear", 2000)
+                .queryParam("cursor", "abc")
+                .queryParam("limit", 2)
+                .build())
+            .accept(MediaType.APPLICATION_NDJSON)
+            .exchange()
+            .expectStatus().isOk()
+            .expectBodyList(ProducerIntervalDTO.class)
+            .value(intervals -> assertEquals(List.of("c0", "c1"),
+                intervals.stream().map(ProducerIntervalDTO::cursor).toList()));
+    }
+
+    @Test
+    @DisplayName("Deve responder 400 para cursor de intervalos inválido")
+    void deveRejeitarCursorDeIntervalosInvalido() {
+        // Given
+        when(movieService.streamIntervals(any())).thenReturn(Flux.error(new IllegalArgumentException("Cursor inválido: x")));
+
+        // When & Then
+        webTestClient.get()
+            .uri("/movie/awards-result/intervals?cursor=x")
+            .accept(MediaType.APPLICATION_NDJSON)
+            .exchange()
+            .expectStatus().isBadRequest();
+    }
+
+    @Test
+    @DisplayName("Deve retornar os percentis de intervalo por agrupamento")
+    void deveRetornarPercentisPorAgrupamento() {
+        // Given
+        when(movieService.getIntervalPercentiles(IntervalGrouping.STUDIO)).thenReturn(Flux.just(
+            IntervalPercentilesDTO.builder()
+                .group("Studio A")
+                .count(3L)
+                .min(1)
+                .p50(2)
+                .p90(6)
+                .p99(6)
+                .max(6)
+                .build()));
+
+        // When & Then
+        webTestClient.get()
+            .uri("/movie/awards-result/percentiles?groupBy=studio")
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$[0].group").isEqualTo("Studio A")
+            .jsonPath("$[0].p50").isEqualTo("2")
+            .jsonPath("$[1]").doesNotExist();
+
+        webTestClient.get()
+            .uri("/movie/awards-result/percentiles?groupBy=producer")
+            .exchange()
+            .expectStatus().isBadRequest();
+
+        verify(movieService, times(1)).getIntervalPercentiles(IntervalGrouping.STUDIO);
+    }
+
+    @Test
+    @DisplayName("Deve criar um filme e retornar sua localização")
+    void deveCriarFilme() {
+        // Given
+        var saved = MovieEntity.builder()
+            .id(207L)
+            .years(2020)
+            .title("Movie A")
+            .producers("Producer A")
+            .winner(true)
+            .build();
+
+        when(movieService.saveMovie(any())).thenReturn(Mono.just(saved));
+
+        // When & Then
+        webTestClient.post()
+            .uri("/movie")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue("{\"years\": 2020, \"title\": \"Movie A\", \"producers\": \"Producer A\", \"winner\": true}")
+            .exchange()
+            .expectStatus().isCreated()
+            .expectHeader().location("/movie/207")
+            .expectBody()
+            .jsonPath("$.id").isEqualTo("207");
+    }
+
+    @Test
+    @DisplayName("Deve retornar 404 ao atualizar ou remover um filme inexistente")
+    void deveRetornarNaoEncontradoParaFilmeInexistente() {
+        // Given
+        when(movieService.updateMovie(eq(999L), any())).thenReturn(Mono.empty());
+        when(movieService.deleteMovie(999L)).thenReturn(Mono.empty());
+
+        // When & Then
+        webTestClient.put()
+            .uri("/movie/999")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue("{\"years\": 2020, \"title\": \"Movie A\"}")
+            .exchange()
+            .expectStatus().isNotFound();
+
+        webTestClient.delete()
+            .uri("/movie/999")
+            .exchange()
+            .expectStatus().isNotFound();
+    }
+
+    @Test
+    @DisplayName("Deve importar filmes em lote a partir de um CSV")
+    void deveImportarFilmesEmLoteDeCsv() {
+        // Given
+        when(movieService.insertMovies(any())).thenAnswer(invocation -> invocation.<Flux<MovieEntity>>getArgument(0)
+            .collectList()
+            .map(movies -> MovieBulkResultDTO.builder()
+                .inserted(movies.stream().filter(MovieService::isValid).count())
+                .rejected(movies.stream().filter(movie -> !MovieService.isValid(movie)).count())
+                .build()));
+
+        // When & Then
+        webTestClient.post()
+            .uri("/movie/bulk")
+            .contentType(MediaType.parseMediaType("text/csv"))
+            .bodyValue("""
+                year;title;studios;producers;winner
+                2020;Movie A;Studio A;Producer A and Producer B;yes
+                abc;Movie B;Studio B;Producer C;
+                2021;Movie C;Studio C;Producer A;
+                """)
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.inserted").isEqualTo("2")
+            .jsonPath("$.rejected").isEqualTo("1");
     }
-}
\ No newline at end of file
+}
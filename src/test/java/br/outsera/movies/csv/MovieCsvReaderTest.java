@@ -0,0 +1,143 @@
+package br.outsera.movies.csv;
+
+import br.outsera.movies.model.MovieEntity;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("MovieCsvReader Tests")
+class MovieCsvReaderTest {
+
+    private static final ClassPathResource MOVIE_LIST = new ClassPathResource("__files/movielist.csv");
+
+    private final MappedMovieCsvReader mappedReader = new MappedMovieCsvReader();
+    private final OpenCsvMovieReader openCsvReader = new OpenCsvMovieReader();
+
+    private static List<MovieEntity> sorted(List<MovieEntity> movies) {
+        return movies.stream()
+            .sorted(Comparator.comparingInt(MovieEntity::years).thenComparing(MovieEntity::title))
+            .toList();
+    }
+
+    @Test
+    @DisplayName("Deve ler o CSV mapeado em memória com o mesmo resultado do OpenCSV")
+    void deveLerCsvMapeadoComMesmoResultadoDoOpenCsv() {
+        var mapped = mappedReader.read(MOVIE_LIST, ';').collectList().block();
+        var openCsv = openCsvReader.read(MOVIE_LIST, ';').collectList().block();
+
+        assertNotNull(mapped);
+        assertEquals(206, mapped.size());
+        assertEquals(42, mapped.stream().filter(MovieEntity::winner).count());
+        assertEquals(sorted(openCsv), sorted(mapped));
+    }
+
+    @Test
+    @DisplayName("Deve ignorar linhas com ano inválido e aceitar quebras de linha CRLF")
+    void deveIgnorarLinhasInvalidasEAceitarCrlf(@TempDir Path directory) throws IOException {
+        var file = directory.resolve("movies.csv");
+        Files.writeString(file, """
+            year;title;studios;producers;winner\r
+            1980;Movie A;Studio A;Producer A;yes\r
+            abcd;Movie B;Studio B;Producer B;\r
+            1981;Movie C;Studio C;Producer C;\r
+            """);
+
+        var dropped = new AtomicLong();
+        CsvReadListener listener = new CsvReadListener() {
+            @Override
+            public void rowsDropped(long rows) {
+                dropped.addAndGet(rows);
+            }
+        };
+
+        StepVerifier.create(mappedReader.read(new FileSystemResource(file), ';', listener))
+            .expectNextMatches(movie -> movie.years() == 1980 && movie.winner() && movie.producers().equals("Producer A"))
+            .expectNextMatches(movie -> movie.years() == 1981 && !movie.winner() && movie.studios().equals("Studio C"))
+            .verifyComplete();
+        assertEquals(1, dropped.get());
+    }
+
+    @Test
+    @DisplayName("Deve aceitar campos entre aspas contendo o separador, como o OpenCSV")
+    void deveAceitarCamposEntreAspasComSeparador(@TempDir Path directory) throws IOException {
+        var file = new FileSystemResource(directory.resolve("movies.csv"));
+        Files.writeString(file.getFile().toPath(), """
+            year;title;studios;producers;winner
+            "1980";"Movie; the ""Sequel\""";Studio A;"Producer A; Producer B";"yes"
+            1981;Movie C;"Studio; C";Producer C;
+            """);
+
+        var mapped = mappedReader.read(file, ';').collectList().block();
+
+        assertEquals(openCsvReader.read(file, ';').collectList().block(), mapped);
+        assertEquals("Movie; the \"Sequel\"", mapped.getFirst().title());
+        assertEquals("Producer A; Producer B", mapped.getFirst().producers());
+        assertTrue(mapped.getFirst().winner());
+        assertEquals("Studio; C", mapped.getLast().studios());
+    }
+
+    @Test
+    @DisplayName("Deve manter a ordem do arquivo ao ler vários blocos em paralelo")
+    void deveManterOrdemDoArquivoEmVariosBlocos(@TempDir Path directory) throws IOException {
+        var file = directory.resolve("movies.csv");
+        var content = new StringBuilder("year;title;studios;producers;winner\n");
+        for (int i = 0; i < 100_000; i++) {
+            content.append(1900 + i % 100).append(";Movie ").append(i).append(";Studio;Producer;\n");
+        }
+        Files.writeString(file, content);
+
+        var titles = mappedReader.read(new FileSystemResource(file), ';')
+            .map(MovieEntity::title)
+            .collectList()
+            .block();
+
+        assertTrue(Files.size(file) > 2L << 20);
+        assertEquals(100_000, titles.size());
+        for (int i = 0; i < titles.size(); i++) {
+            assertEquals("Movie " + i, titles.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve propagar a falha de leitura do arquivo")
+    void devePropagarFalhaDeLeitura(@TempDir Path directory) {
+        var failures = new AtomicLong();
+        CsvReadListener listener = new CsvReadListener() {
+            @Override
+            public void readFailed(Throwable error) {
+                failures.incrementAndGet();
+            }
+        };
+
+        StepVerifier.create(mappedReader.read(new FileSystemResource(directory.resolve("missing.csv")), ';', listener))
+            .expectError()
+            .verify();
+        assertEquals(1, failures.get());
+    }
+
+    @Test
+    @DisplayName("Deve interpretar linhas já separadas com o mesmo resultado do leitor mapeado")
+    void deveInterpretarLinhasComMesmoResultadoDoLeitorMapeado() throws IOException {
+        var lines = Files.readAllLines(MOVIE_LIST.getFile().toPath());
+
+        var parsed = CsvLineParser.parse(Flux.fromIterable(lines), ';').collectList().block();
+        var mapped = mappedReader.read(MOVIE_LIST, ';').collectList().block();
+
+        assertNotNull(parsed);
+        assertNotNull(mapped);
+        assertEquals(sorted(mapped), sorted(parsed));
+    }
+}
@@ -0,0 +1,73 @@
+package br.outsera.movies.integration;
+
+import br.outsera.movies.Application;
+import br.outsera.movies.repository.MovieRepository;
+import br.outsera.movies.service.MovieService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(classes = Application.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureWebTestClient
+@ActiveProfiles({"test", "external"})
+@DisplayName("Testes de Integração - Banco externo (H2 em arquivo)")
+class ExternalDatabaseIntegrationTest {
+
+    private static final Path DATABASE_DIR = Path.of("build", "tmp", "external-database-it");
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private MovieService movieService;
+
+    @DynamicPropertySource
+    static void databaseProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.r2dbc.url", () -> "r2dbc:h2:file:///./" + DATABASE_DIR.resolve("movies"));
+    }
+
+    @BeforeAll
+    static void cleanDatabase() throws IOException {
+        FileSystemUtils.deleteRecursively(DATABASE_DIR);
+    }
+
+    @Test
+    @DisplayName("Deve calcular o resultado no banco e reaproveitar o catálogo persistido")
+    void deveCalcularResultadoNoBancoEReaproveitarCatalogo() {
+        webTestClient.get()
+            .uri("/movie/awards-result")
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.min[0].producers").isEqualTo("Joel Silver")
+            .jsonPath("$.min[0].interval").isEqualTo("1")
+            .jsonPath("$.max[0].producers").isEqualTo("Matthew Vaughn")
+            .jsonPath("$.max[0].interval").isEqualTo("13")
+            .jsonPath("$.min[1]").doesNotExist()
+            .jsonPath("$.max[1]").doesNotExist();
+
+        var movies = movieRepository.count().block();
+
+        assertEquals(movies, movieService.initDB().block());
+        assertEquals(movies, movieRepository.count().block());
+    }
+}
@@ -0,0 +1,90 @@
+package br.outsera.movies.integration;
+
+import br.outsera.movies.Application;
+import br.outsera.movies.model.MovieEntity;
+import br.outsera.movies.repository.JdbcMovieRepository;
+import br.outsera.movies.repository.MovieRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(classes = Application.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {
+        "api.persistence.mode=jdbc",
+        "api.persistence.jdbc.url=jdbc:h2:mem:movies_jdbc;DB_CLOSE_DELAY=-1",
+        "spring.r2dbc.url=r2dbc:h2:mem:///movies_jdbc"
+    })
+@AutoConfigureWebTestClient
+@ActiveProfiles("test")
+@DisplayName("Testes de Integração - Persistência JDBC em threads virtuais")
+class JdbcPersistenceIntegrationTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Test
+    @DisplayName("Deve carregar o catálogo e calcular o resultado pelo repositório JDBC")
+    void deveCarregarCatalogoPeloRepositorioJdbc() {
+        assertInstanceOf(JdbcMovieRepository.class, movieRepository);
+
+        webTestClient.get()
+            .uri("/movie/awards-result")
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.min[0].producers").isEqualTo("Joel Silver")
+            .jsonPath("$.min[0].interval").isEqualTo("1")
+            .jsonPath("$.max[0].producers").isEqualTo("Matthew Vaughn")
+            .jsonPath("$.max[0].interval").isEqualTo("13");
+
+        assertEquals("Joel Silver", movieRepository.getAwardIntervalExtremes()
+            .filter(extreme -> extreme.kind().equals("min"))
+            .blockFirst()
+            .producers());
+    }
+
+    @Test
+    @DisplayName("Deve incluir, trocar e remover filmes pelo repositório JDBC")
+    void deveIncluirTrocarERemoverFilmesPeloRepositorioJdbc() {
+        var saved = movieRepository.insertBatch(List.of(
+                MovieEntity.builder().years(2030).title("Jdbc 1").producers("Jdbc Producer").winner(true).build(),
+                MovieEntity.builder().years(2031).title("Jdbc 2").producers("Jdbc Producer").winner(true).build()))
+            .block();
+        assertEquals(2, saved.size());
+        assertNotNull(saved.getFirst().id());
+        assertEquals("Jdbc 1", movieRepository.findById(saved.getFirst().id()).block().title());
+
+        var replace = movieRepository.replaceBatch(List.of(saved.getFirst().id()), List.of(
+                MovieEntity.builder().years(2035).title("Jdbc 3").producers("Jdbc Producer").winner(true).build()), 1)
+            .block();
+        var replaced = replace.added();
+        assertEquals(List.of(saved.getFirst()), replace.removed());
+        assertFalse(movieRepository.existsById(saved.getFirst().id()).block());
+        assertEquals(List.of("Jdbc 2", "Jdbc 3"), movieRepository.findAllById(List.of(saved.getLast().id(),
+                replaced.getFirst().id()))
+            .map(MovieEntity::title)
+            .sort()
+            .collectList()
+            .block());
+
+        movieRepository.deleteAll(List.of(saved.getLast(), replaced.getFirst())).block();
+        assertEquals(0L, movieRepository.findAll()
+            .filter(movie -> movie.title().startsWith("Jdbc "))
+            .count()
+            .block());
+    }
+}
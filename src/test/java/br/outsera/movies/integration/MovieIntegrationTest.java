@@ -1,6 +1,8 @@
 package br.outsera.movies.integration;
 
 import br.outsera.movies.Application;
+import br.outsera.movies.model.MovieEntity;
+import br.outsera.movies.model.ProducerDTO;
 import br.outsera.movies.repository.MovieRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.DisplayName;
@@ -13,6 +15,8 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.reactive.server.WebTestClient;
 
+import static org.junit.jupiter.api.Assertions.*;
+
 @ExtendWith(SpringExtension.class)
 @SpringBootTest(classes = Application.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @AutoConfigureWebTestClient
@@ -41,16 +45,94 @@ class MovieIntegrationTest {
             .jsonPath("$.min").isArray()
             .jsonPath("$.max").isArray()
             .jsonPath("$.min[0]").exists()
-            .jsonPath("$.min[0].producers").isEqualTo("Bo Derek")
-            .jsonPath("$.min[0].interval").isEqualTo("6")
-            .jsonPath("$.min[0].previousWin").isEqualTo("1984")
-            .jsonPath("$.min[0].followingWin").isEqualTo("1990")
+            .jsonPath("$.min[0].producers").isEqualTo("Joel Silver")
+            .jsonPath("$.min[0].interval").isEqualTo("1")
+            .jsonPath("$.min[0].previousWin").isEqualTo("1990")
+            .jsonPath("$.min[0].followingWin").isEqualTo("1991")
             .jsonPath("$.max[0]").exists()
-            .jsonPath("$.max[0].producers").isEqualTo("Bo Derek")
-            .jsonPath("$.max[0].interval").isEqualTo("6")
-            .jsonPath("$.max[0].previousWin").isEqualTo("1984")
-            .jsonPath("$.max[0].followingWin").isEqualTo("1990")
+            .jsonPath("$.max[0].producers").isEqualTo("Matthew Vaughn")
+            .jsonPath("$.max[0].interval").isEqualTo("13")
+            .jsonPath("$.max[0].previousWin").isEqualTo("2002")
+            .jsonPath("$.max[0].followingWin").isEqualTo("2015")
             .jsonPath("$.min[1]").doesNotExist()
             .jsonPath("$.max[1]").doesNotExist();
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Deve responder 304 para o ETag da versão atual do catálogo")
+    void deveResponderNaoModificadoParaEtagAtual() {
+        var etag = webTestClient.get()
+            .uri("/movie/awards-result")
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().exists("ETag")
+            .expectHeader().exists("Last-Modified")
+            .returnResult(byte[].class)
+            .getResponseHeaders()
+            .getETag();
+
+        webTestClient.get()
+            .uri("/movie/awards-result")
+            .ifNoneMatch(etag)
+            .exchange()
+            .expectStatus().isNotModified();
+    }
+
+    @Test
+    @DisplayName("Deve expor as métricas de ingestão e do cache de prêmios no formato Prometheus")
+    void deveExporMetricasNoFormatoPrometheus() {
+        webTestClient.get()
+            .uri("/movie/awards-result")
+            .exchange()
+            .expectStatus().isOk();
+
+        webTestClient.get()
+            .uri("/actuator/prometheus")
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody(String.class)
+            .value(body -> {
+                assertTrue(body.contains("movies_csv_read_seconds_count"));
+                assertTrue(body.contains("movies_ingestion_batch_seconds_count"));
+                assertTrue(body.contains("movies_awards_cache_total{result=\"miss\""));
+                assertTrue(body.contains("movies_csv_rows_dropped_total"));
+            });
+    }
+
+    @Test
+    @DisplayName("Deve atualizar o filme e seus produtores devolvendo a versão anterior")
+    void deveAtualizarFilmeDevolvendoVersaoAnterior() {
+        var saved = movieRepository.insertMovie(MovieEntity.builder()
+                .years(2040).title("Update Movie").producers("Update Producer A").winner(false).build())
+            .block();
+
+        var update = movieRepository.updateMovie(MovieEntity.builder()
+                .id(saved.id()).years(2041).title("Update Movie").producers("Update Producer B").winner(false).build())
+            .block();
+
+        assertEquals("Update Producer A", update.previous().producers());
+        assertEquals(2041, movieRepository.findById(saved.id()).block().years());
+        assertTrue(movieRepository.getProducers()
+            .map(ProducerDTO::name)
+            .collectList()
+            .block()
+            .contains("Update Producer B"));
+        assertNull(movieRepository.updateMovie(MovieEntity.builder()
+                .id(-1L).years(2041).title("Missing").producers("Update Producer B").winner(false).build())
+            .block());
+
+        movieRepository.deleteById(saved.id()).block();
+    }
+
+    @Test
+    @DisplayName("Deve remover o filme devolvendo a linha apagada apenas uma vez")
+    void deveRemoverFilmeDevolvendoLinhaApagada() {
+        var saved = movieRepository.insertMovie(MovieEntity.builder()
+                .years(2042).title("Delete Movie").producers("Delete Producer").winner(false).build())
+            .block();
+
+        assertEquals("Delete Movie", movieRepository.deleteMovie(saved.id()).block().title());
+        assertNull(movieRepository.deleteMovie(saved.id()).block());
+        assertNull(movieRepository.findById(saved.id()).block());
+    }
+}
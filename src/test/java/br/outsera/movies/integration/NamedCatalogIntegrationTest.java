@@ -0,0 +1,107 @@
+package br.outsera.movies.integration;
+
+import br.outsera.movies.Application;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(classes = Application.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {
+        "spring.r2dbc.url=r2dbc:h2:mem:///movies_catalogs",
+        "api.catalogs.razzies.path=__files/movielist.csv",
+        "api.catalogs.tiny.path=__files/movielist.csv",
+        "api.catalogs.tiny.max-movies=10",
+        "api.catalogs.missing.path=__files/missing.csv"
+    })
+@AutoConfigureWebTestClient
+@ActiveProfiles("test")
+@DisplayName("Testes de Integração - Catálogos nomeados")
+class NamedCatalogIntegrationTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("Deve calcular o resultado dos prêmios de um catálogo nomeado")
+    void deveCalcularResultadoDeCatalogoNomeado() {
+        webTestClient.get()
+            .uri("/catalog/razzies/awards-result")
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.min[0].producers").isEqualTo("Joel Silver")
+            .jsonPath("$.min[0].interval").isEqualTo("1")
+            .jsonPath("$.max[0].producers").isEqualTo("Matthew Vaughn")
+            .jsonPath("$.max[0].interval").isEqualTo("13");
+
+        assertEquals(1.0, meterRegistry.get("catalogs.ready").tag("catalog", "razzies").gauge().value());
+        assertTrue(meterRegistry.get("catalogs.awards.query").tag("catalog", "razzies").timer().count() > 0);
+    }
+
+    @Test
+    @DisplayName("Deve isolar a falha de um catálogo acima do limite de filmes")
+    void deveIsolarFalhaDeCatalogoAcimaDoLimite() {
+        webTestClient.get()
+            .uri("/catalog/tiny/awards-result")
+            .exchange()
+            .expectStatus().isEqualTo(503);
+
+        webTestClient.get()
+            .uri("/catalog")
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$[?(@.name == 'tiny')].phase").isEqualTo("FAILED")
+            .jsonPath("$[?(@.name == 'tiny')].movies").isEqualTo(0);
+
+        webTestClient.get()
+            .uri("/catalog/razzies/awards-result")
+            .exchange()
+            .expectStatus().isOk();
+        webTestClient.get()
+            .uri("/movie/awards-result")
+            .exchange()
+            .expectStatus().isOk();
+    }
+
+    @Test
+    @DisplayName("Deve marcar como falho o catálogo cujo arquivo não pode ser lido")
+    void deveMarcarComoFalhoCatalogoComArquivoIlegivel() {
+        webTestClient.get()
+            .uri("/catalog/missing/awards-result")
+            .exchange()
+            .expectStatus().isEqualTo(503);
+
+        webTestClient.get()
+            .uri("/catalog")
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$[?(@.name == 'missing')].phase").isEqualTo("FAILED")
+            .jsonPath("$[?(@.name == 'missing')].movies").isEqualTo(0);
+
+        assertEquals(0.0, meterRegistry.get("catalogs.ready").tag("catalog", "missing").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Deve retornar 404 para catálogo inexistente")
+    void deveRetornar404ParaCatalogoInexistente() {
+        webTestClient.get()
+            .uri("/catalog/oscars/awards-result")
+            .exchange()
+            .expectStatus().isNotFound();
+    }
+}
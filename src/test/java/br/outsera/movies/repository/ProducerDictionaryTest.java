@@ -0,0 +1,56 @@
+package br.outsera.movies.repository;
+
+import br.outsera.movies.model.MovieEntity;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ProducerDictionary Tests")
+class ProducerDictionaryTest {
+
+    @Test
+    @DisplayName("Deve separar produtores por vírgula e por 'and'")
+    void deveSepararProdutores() {
+        assertArrayEquals(new String[]{"Allan Carr"}, ProducerDictionary.split("Allan Carr"));
+        assertArrayEquals(new String[]{"Jerry Weintraub", "Ray Stark"},
+            ProducerDictionary.split("Jerry Weintraub and Ray Stark"));
+        assertArrayEquals(new String[]{"Mitsuharu Ishii", "Toby Jaffe", "Chad Wentworth"},
+            ProducerDictionary.split("Mitsuharu Ishii, Toby Jaffe, and Chad Wentworth"));
+        assertArrayEquals(new String[0], ProducerDictionary.split(" "));
+    }
+
+    @Test
+    @DisplayName("Deve resolver apenas os identificadores registrados pelo banco")
+    void deveResolverApenasIdentificadoresRegistrados() {
+        var dictionary = new ProducerDictionary();
+        dictionary.register(4, "Producer A");
+        dictionary.register(9, "Producer B");
+
+        assertArrayEquals(new int[]{4, 9}, dictionary.idsOf("Producer A and Producer B"));
+        assertThrows(IllegalStateException.class, () -> dictionary.idsOf("Producer B, Producer C"));
+        assertArrayEquals(new int[]{9}, dictionary.knownIdsOf("Producer B, Producer C"));
+        assertEquals("Producer B", dictionary.name(9));
+        assertEquals(10, dictionary.size());
+    }
+
+    @Test
+    @DisplayName("Deve mapear um produtor novo apenas depois de registrado")
+    void deveMapearProdutorNovoApenasDepoisDeRegistrado() {
+        var dictionary = new ProducerDictionary();
+        dictionary.register(1, "Producer A");
+        var movies = List.of(
+            MovieEntity.builder().years(2000).producers("Producer A and Producer B").build(),
+            MovieEntity.builder().years(2001).producers("Producer B").build());
+
+        assertEquals(List.of("Producer B"), dictionary.unknownNames(movies));
+        assertThrows(IllegalStateException.class, () -> dictionary.idsOf("Producer B"));
+
+        dictionary.register(2, "Producer B");
+
+        assertArrayEquals(new int[]{1, 2}, dictionary.idsOf("Producer A and Producer B"));
+        assertEquals(List.of(), dictionary.unknownNames(movies));
+    }
+}
@@ -0,0 +1,285 @@
+package br.outsera.movies.service;
+
+import br.outsera.movies.model.MovieAwardsResultDTO;
+import br.outsera.movies.model.MovieEntity;
+import br.outsera.movies.model.ProducerWinDTO;
+import br.outsera.movies.repository.ProducerDictionary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AwardIntervalIndex Tests")
+class AwardIntervalIndexTest {
+
+    private ProducerDictionary producerDictionary;
+    private AwardIntervalIndex awardIntervalIndex;
+
+    private MovieEntity createMovie(Integer year, String producers, Boolean winner) {
+        return MovieEntity.builder()
+            .title("Movie " + year)
+            .years(year)
+            .producers(producers)
+            .winner(winner)
+            .build();
+    }
+
+    private List<ProducerWinDTO> winsOf(MovieEntity... movies) {
+        return Stream.of(movies)
+            .filter(MovieEntity::winner)
+            .flatMap(movie -> Arrays.stream(producerDictionary.idsOf(movie.producers()))
+                .mapToObj(producerId -> new ProducerWinDTO(producerId, movie.years())))
+            .toList();
+    }
+
+    @BeforeEach
+    void setUp() {
+        producerDictionary = new ProducerDictionary();
+        for (String name : List.of("A", "B", "C", "D", "E", "F")) {
+            producerDictionary.register(producerDictionary.size(), "Producer " + name);
+        }
+        for (int i = 0; i < 12; i++) {
+            producerDictionary.register(producerDictionary.size(), "Producer " + i);
+        }
+        awardIntervalIndex = new AwardIntervalIndex(producerDictionary);
+        awardIntervalIndex.rebuild(winsOf(
+            createMovie(2000, "Producer A", true),
+            createMovie(2001, "Producer A", true),
+            createMovie(1990, "Producer B", true),
+            createMovie(2003, "Producer B", true),
+            createMovie(2002, "Producer C", false)
+        ));
+    }
+
+    @Test
+    @DisplayName("Deve montar o resultado inicial a partir dos vencedores")
+    void deveMontarResultadoInicial() {
+        var result = awardIntervalIndex.getResult();
+
+        assertTrue(awardIntervalIndex.isLoaded());
+        assertEquals(1, result.min().size());
+        assertEquals("Producer A", result.min().getFirst().producers());
+        assertEquals(1, result.min().getFirst().interval());
+        assertEquals(1, result.max().size());
+        assertEquals("Producer B", result.max().getFirst().producers());
+        assertEquals(13, result.max().getFirst().interval());
+    }
+
+    @Test
+    @DisplayName("Deve atualizar o resultado ao inserir um vencedor")
+    void deveAtualizarResultadoAoInserirVencedor() {
+        awardIntervalIndex.add(createMovie(1996, "Producer B", true));
+
+        var result = awardIntervalIndex.getResult();
+
+        assertEquals(1, result.min().size());
+        assertEquals("Producer A", result.min().getFirst().producers());
+        assertEquals(1, result.max().size());
+        assertEquals("Producer B", result.max().getFirst().producers());
+        assertEquals(7, result.max().getFirst().interval());
+        assertEquals(1996, result.max().getFirst().previousWin());
+        assertEquals(2003, result.max().getFirst().followingWin());
+    }
+
+    @Test
+    @DisplayName("Deve atualizar o resultado ao remover um vencedor")
+    void deveAtualizarResultadoAoRemoverVencedor() {
+        awardIntervalIndex.remove(createMovie(2001, "Producer A", true));
+
+        var result = awardIntervalIndex.getResult();
+
+        assertEquals(1, result.min().size());
+        assertEquals("Producer B", result.min().getFirst().producers());
+        assertEquals(13, result.min().getFirst().interval());
+        assertEquals(result.min(), result.max());
+    }
+
+    @Test
+    @DisplayName("Deve ignorar filmes que não venceram")
+    void deveIgnorarFilmesNaoVencedores() {
+        var before = awardIntervalIndex.getResult();
+
+        awardIntervalIndex.add(createMovie(2004, "Producer C", false));
+
+        assertSame(before, awardIntervalIndex.getResult());
+    }
+
+    @Test
+    @DisplayName("Deve contabilizar cada coprodutor de um filme vencedor")
+    void deveContabilizarCadaCoprodutor() {
+        awardIntervalIndex.add(createMovie(1970, "Producer D, Producer E and Producer A", true));
+        awardIntervalIndex.add(createMovie(2010, "Producer D and Producer E", true));
+
+        var result = awardIntervalIndex.getResult();
+
+        assertEquals(1, result.min().size());
+        assertEquals("Producer A", result.min().getFirst().producers());
+        assertEquals(List.of("Producer D", "Producer E"), result.max().stream()
+            .map(interval -> interval.producers())
+            .toList());
+        assertEquals(40, result.max().getFirst().interval());
+    }
+
+    @Test
+    @DisplayName("Deve montar o resultado a partir das colunas primitivas de vitórias")
+    void deveMontarResultadoAPartirDeColunasPrimitivas() {
+        var producerA = producerDictionary.idOf("Producer A");
+        var producerF = producerDictionary.idOf("Producer F");
+        var wins = new AwardIntervalIndex.Wins();
+        wins.add(producerF, 1980);
+        wins.add(producerA, 1999);
+        wins.add(producerF, 1985);
+        wins.add(producerA, 2001);
+
+        awardIntervalIndex.rebuild(wins);
+
+        var result = awardIntervalIndex.getResult();
+        assertEquals(4, wins.size());
+        assertEquals("Producer A", result.min().getFirst().producers());
+        assertEquals(2, result.min().getFirst().interval());
+        assertEquals("Producer F", result.max().getFirst().producers());
+        assertEquals(5, result.max().getFirst().interval());
+    }
+
+    @Test
+    @DisplayName("Deve reconstruir em paralelo o mesmo resultado da reconstrução sequencial")
+    void deveReconstruirEmParaleloOMesmoResultadoDaSequencial() {
+        // Given
+        var random = new Random(19);
+        int firstProducer = producerDictionary.size();
+        for (int i = 0; i < 4096; i++) {
+            producerDictionary.register(producerDictionary.size(), "Sharded Producer " + i);
+        }
+        var wins = new AwardIntervalIndex.Wins();
+        while (wins.size() < AwardIntervalIndex.PARALLEL_THRESHOLD + 1024) {
+            wins.add(firstProducer + random.nextInt(4096), 1900 + random.nextInt(2000));
+        }
+        var sequential = new AwardIntervalIndex(producerDictionary);
+        sequential.rebuild(wins, 1);
+
+        // When & Then
+        awardIntervalIndex.rebuild(wins);
+        assertEquals(sequential.getResult(), awardIntervalIndex.getResult());
+        assertEquals(sequential.getResult(1950, 2500), awardIntervalIndex.getResult(1950, 2500));
+        var shardedIntervals = new ArrayList<int[]>();
+        var sequentialIntervals = new ArrayList<int[]>();
+        awardIntervalIndex.forEachInterval((producerId, previousWin, followingWin) ->
+            shardedIntervals.add(new int[]{producerId, previousWin, followingWin}));
+        sequential.forEachInterval((producerId, previousWin, followingWin) ->
+            sequentialIntervals.add(new int[]{producerId, previousWin, followingWin}));
+        assertArrayEquals(sequentialIntervals.toArray(int[][]::new), shardedIntervals.toArray(int[][]::new));
+    }
+
+    @Test
+    @DisplayName("Deve retornar os intervalos extremos dentro do período informado")
+    void deveRetornarIntervalosExtremosDoPeriodo() {
+        awardIntervalIndex.add(createMovie(1995, "Producer D", true));
+        awardIntervalIndex.add(createMovie(2000, "Producer D", true));
+
+        var nineties = awardIntervalIndex.getResult(1990, 2000);
+        var wholeCatalog = awardIntervalIndex.getResult(Integer.MIN_VALUE, Integer.MAX_VALUE);
+        var empty = awardIntervalIndex.getResult(2002, 2010);
+
+        assertEquals(1, nineties.min().size());
+        assertEquals("Producer D", nineties.min().getFirst().producers());
+        assertEquals(5, nineties.min().getFirst().interval());
+        assertEquals(nineties.min(), nineties.max());
+        assertEquals(awardIntervalIndex.getResult(), wholeCatalog);
+        assertTrue(empty.min().isEmpty());
+        assertTrue(empty.max().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve manter as consultas por período corretas após inclusões e remoções")
+    void deveManterConsultasPorPeriodoAposAlteracoes() {
+        var random = new Random(21);
+        var movies = new ArrayList<MovieEntity>();
+        awardIntervalIndex.getResult(1990, 2000);
+        for (int i = 0; i < 400; i++) {
+            if (!movies.isEmpty() && random.nextInt(4) == 0) {
+                awardIntervalIndex.remove(movies.remove(random.nextInt(movies.size())));
+            } else {
+                var movie = createMovie(1980 + random.nextInt(45), "Producer " + random.nextInt(12), true);
+                movies.add(movie);
+                awardIntervalIndex.add(movie);
+            }
+
+            int fromYear = 1975 + random.nextInt(50);
+            int toYear = fromYear + random.nextInt(40);
+            var result = awardIntervalIndex.getResult(fromYear, toYear);
+            assertEquals(windowExtremes(true, fromYear, toYear), result.min(), "min " + fromYear + "-" + toYear);
+            assertEquals(windowExtremes(false, fromYear, toYear), result.max(), "max " + fromYear + "-" + toYear);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve varrer catálogos com mais anos distintos que a árvore e responder como ela")
+    void deveVarrerCatalogosComMaisAnosQueAArvore() {
+        // Given
+        var random = new Random(21);
+        int firstYear = 1000;
+        int lastYear = firstYear + YearRangeIntervals.MAX_YEARS + 64;
+        var wins = new ArrayList<int[]>();
+        for (int year = firstYear; year <= lastYear; year++) {
+            wins.add(new int[]{producerDictionary.idOf("Producer " + year % 12), year});
+        }
+        for (int i = 0; i < 2000; i++) {
+            wins.add(new int[]{producerDictionary.idOf("Producer " + random.nextInt(12)),
+                firstYear + random.nextInt(lastYear - firstYear + 1)});
+        }
+        awardIntervalIndex.rebuild(winsWithin(wins, firstYear, lastYear));
+
+        // When & Then
+        for (int i = 0; i < 50; i++) {
+            int fromYear = firstYear + random.nextInt(lastYear - firstYear);
+            int toYear = Math.min(lastYear, fromYear + random.nextInt(YearRangeIntervals.MAX_YEARS));
+            var tree = new AwardIntervalIndex(producerDictionary);
+            tree.rebuild(winsWithin(wins, fromYear, toYear));
+
+            var result = awardIntervalIndex.getResult(fromYear, toYear);
+            assertEquals(tree.getResult(fromYear, toYear), result, fromYear + "-" + toYear);
+            assertEquals(windowExtremes(true, fromYear, toYear), result.min(), "min " + fromYear + "-" + toYear);
+            assertEquals(windowExtremes(false, fromYear, toYear), result.max(), "max " + fromYear + "-" + toYear);
+        }
+    }
+
+    private AwardIntervalIndex.Wins winsWithin(List<int[]> wins, int fromYear, int toYear) {
+        var within = new AwardIntervalIndex.Wins();
+        for (int[] win : wins) {
+            if (win[1] >= fromYear && win[1] <= toYear) {
+                within.add(win[0], win[1]);
+            }
+        }
+        return within;
+    }
+
+    private List<MovieAwardsResultDTO> windowExtremes(boolean lowest, int fromYear, int toYear) {
+        var intervals = new ArrayList<MovieAwardsResultDTO>();
+        awardIntervalIndex.forEachInterval((producerId, previousWin, followingWin) -> {
+            if (previousWin >= fromYear && followingWin <= toYear) {
+                intervals.add(MovieAwardsResultDTO.builder()
+                    .producers(producerDictionary.name(producerId))
+                    .previousWin(previousWin)
+                    .followingWin(followingWin)
+                    .interval(followingWin - previousWin)
+                    .build());
+            }
+        });
+        var extreme = intervals.stream()
+            .mapToInt(MovieAwardsResultDTO::interval)
+            .reduce(lowest ? Math::min : Math::max);
+        return intervals.stream()
+            .filter(interval -> interval.interval() == extreme.orElseThrow())
+            .sorted(Comparator.comparingInt((MovieAwardsResultDTO interval) ->
+                producerDictionary.idOf(interval.producers())).thenComparingInt(MovieAwardsResultDTO::previousWin))
+            .toList();
+    }
+}
@@ -0,0 +1,188 @@
+package br.outsera.movies.service;
+
+import br.outsera.movies.csv.MappedMovieCsvReader;
+import br.outsera.movies.model.MovieEntity;
+import br.outsera.movies.repository.MovieRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.FileSystemResource;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CatalogFileWatcher Tests")
+class CatalogFileWatcherTest {
+
+    private static final String HEADER = "year;title;studios;producers;winner\n";
+    private static final String MUSIC = "1980;Can't Stop the Music;Associated Film Distribution;Allan Carr;yes\n";
+    private static final String CRUISING = "1980;Cruising;Lorimar Productions;Jerry Weintraub;\n";
+
+    @Mock
+    private MovieRepository movieRepository;
+
+    @Mock
+    private MovieService movieService;
+
+    @Spy
+    private MappedMovieCsvReader movieCsvReader;
+
+    @Spy
+    private MovieMetrics movieMetrics = new MovieMetrics(new SimpleMeterRegistry());
+
+    @InjectMocks
+    private CatalogFileWatcher catalogFileWatcher;
+
+    @TempDir
+    private Path directory;
+
+    private final AtomicLong movieIds = new AtomicLong();
+    private final List<MovieEntity> database = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        catalogFileWatcher.csvFileSeparator = ';';
+    }
+
+    private MovieEntity withId(MovieEntity movie) {
+        return MovieEntity.builder()
+            .id(movieIds.incrementAndGet())
+            .years(movie.years())
+            .title(movie.title())
+            .studios(movie.studios())
+            .producers(movie.producers())
+            .winner(movie.winner())
+            .build();
+    }
+
+    private Path loadCatalog(String content) throws IOException {
+        var file = directory.resolve("movielist.csv");
+        Files.writeString(file, content);
+        var loaded = movieCsvReader.read(new FileSystemResource(file), ';')
+            .map(this::withId)
+            .collectList()
+            .block();
+        database.addAll(loaded);
+        when(movieRepository.findAll()).thenAnswer(invocation -> Flux.fromIterable(List.copyOf(database)));
+        StepVerifier.create(catalogFileWatcher.loadRows())
+            .assertNext(rows -> assertEquals(loaded.size(), rows.size()))
+            .verifyComplete();
+        return file;
+    }
+
+    private void replaceMoviesInDatabase() {
+        when(movieService.replaceMovies(anyList(), anyList())).thenAnswer(invocation -> {
+            List<Long> removedIds = invocation.getArgument(0);
+            var saved = invocation.<List<MovieEntity>>getArgument(1).stream()
+                .map(this::withId)
+                .toList();
+            database.removeIf(movie -> removedIds.contains(movie.id()));
+            database.addAll(saved);
+            return Mono.just(saved);
+        });
+    }
+
+    @Test
+    @DisplayName("Deve aplicar apenas as linhas incluídas e removidas do arquivo observado")
+    void deveAplicarApenasAsLinhasAlteradas() throws IOException {
+        // Given
+        var file = loadCatalog(HEADER + MUSIC + CRUISING + CRUISING);
+        replaceMoviesInDatabase();
+
+        // When & Then
+        StepVerifier.create(catalogFileWatcher.reload(file))
+            .assertNext(reload -> {
+                assertEquals(0, reload.added());
+                assertEquals(0, reload.removed());
+            })
+            .verifyComplete();
+        verify(movieService, never()).replaceMovies(anyList(), anyList());
+
+        Files.writeString(file, HEADER
+            + "1980;Can't Stop the Music;Associated Film Distribution;Allan Carr;\n"
+            + CRUISING
+            + "1981;Mommie Dearest;Paramount Pictures;Frank Yablans;yes\n");
+        StepVerifier.create(catalogFileWatcher.reload(file))
+            .assertNext(reload -> {
+                assertEquals(2, reload.added());
+                assertEquals(2, reload.removed());
+            })
+            .verifyComplete();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Long>> removedIds = ArgumentCaptor.forClass(List.class);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<MovieEntity>> added = ArgumentCaptor.forClass(List.class);
+        verify(movieService).replaceMovies(removedIds.capture(), added.capture());
+        assertEquals(2, removedIds.getValue().size());
+        assertTrue(removedIds.getValue().contains(1L));
+        assertTrue(removedIds.getValue().contains(2L) ^ removedIds.getValue().contains(3L));
+        assertEquals(List.of("Can't Stop the Music", "Mommie Dearest"), added.getValue().stream()
+            .map(MovieEntity::title)
+            .sorted()
+            .toList());
+
+        StepVerifier.create(catalogFileWatcher.reload(file))
+            .assertNext(reload -> assertEquals(0, reload.added() + reload.removed()))
+            .verifyComplete();
+        verify(movieService, times(1)).replaceMovies(anyList(), anyList());
+    }
+
+    @Test
+    @DisplayName("Deve comparar o arquivo com os filmes gravados no banco desde a última sincronização")
+    void deveCompararArquivoComFilmesGravadosNoBanco() throws IOException {
+        // Given
+        var file = loadCatalog(HEADER + MUSIC + CRUISING);
+        replaceMoviesInDatabase();
+        database.removeIf(movie -> movie.title().equals("Cruising"));
+        database.add(withId(MovieEntity.builder().years(1990).title("Api Movie").producers("Api Producer")
+            .winner(false).build()));
+
+        // When & Then
+        StepVerifier.create(catalogFileWatcher.reload(file))
+            .assertNext(reload -> {
+                assertEquals(1, reload.added());
+                assertEquals(1, reload.removed());
+            })
+            .verifyComplete();
+        assertEquals(List.of("Can't Stop the Music", "Cruising"), database.stream()
+            .map(MovieEntity::title)
+            .sorted()
+            .toList());
+    }
+
+    @Test
+    @DisplayName("Deve manter o catálogo anterior quando o arquivo observado não puder ser lido")
+    void deveManterCatalogoAnteriorQuandoArquivoNaoPuderSerLido() throws IOException {
+        // Given
+        var file = loadCatalog(HEADER + MUSIC + CRUISING);
+        Files.delete(file);
+
+        // When & Then
+        StepVerifier.create(catalogFileWatcher.reload(file))
+            .expectError()
+            .verify();
+        verify(movieService, never()).replaceMovies(anyList(), anyList());
+        assertEquals(1.0, movieMetrics.csvReadFailures.count());
+    }
+}
@@ -1,18 +1,37 @@
 package br.outsera.movies.service;
 
+import br.outsera.movies.csv.MappedMovieCsvReader;
+import br.outsera.movies.model.AwardIntervalExtremeDTO;
+import br.outsera.movies.model.MovieAwardsResultDTO;
 import br.outsera.movies.model.MovieEntity;
+import br.outsera.movies.model.ProducerDTO;
+import br.outsera.movies.model.ProducerIntervalDTO;
+import br.outsera.movies.model.ProducerWinDTO;
+import br.outsera.movies.model.ProducerWinStudioDTO;
+import br.outsera.movies.repository.MovieBatchRepository;
 import br.outsera.movies.repository.MovieRepository;
+import br.outsera.movies.repository.ProducerDictionary;
+import br.outsera.movies.snapshot.CatalogSnapshotStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 import reactor.test.StepVerifier;
 
+import java.time.Duration;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
 
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -22,9 +41,33 @@ class MovieServiceTest {
     @Mock
     private MovieRepository movieRepository;
 
+    private final ProducerDictionary producerDictionary = new ProducerDictionary();
+
+    @Spy
+    private AwardIntervalIndex awardIntervalIndex = new AwardIntervalIndex(producerDictionary);
+
+    @Spy
+    private MappedMovieCsvReader movieCsvReader;
+
+    @Spy
+    private CatalogSnapshotStore catalogSnapshotStore;
+
+    @Spy
+    private MovieMetrics movieMetrics = new MovieMetrics(new SimpleMeterRegistry());
+
+    @Spy
+    private MovieSearchIndex movieSearchIndex = new MovieSearchIndex(producerDictionary);
+
     @InjectMocks
     private MovieService movieService;
 
+    @BeforeEach
+    void registerProducers() {
+        producerDictionary.register(0, "Producer A");
+        producerDictionary.register(1, "Producer B");
+        producerDictionary.register(2, "Producer C");
+    }
+
     private MovieEntity createMovie(String title, Integer year, String producers, Boolean winner) {
         return MovieEntity.builder()
             .title(title)
@@ -34,6 +77,14 @@ class MovieServiceTest {
             .build();
     }
 
+    private Flux<ProducerWinDTO> winsOf(Flux<MovieEntity> movies) {
+        return movies
+            .filter(MovieEntity::winner)
+            .flatMapIterable(movie -> Arrays.stream(producerDictionary.idsOf(movie.producers()))
+                .mapToObj(producerId -> new ProducerWinDTO(producerId, movie.years()))
+                .toList());
+    }
+
     @Test
     @DisplayName("Deve calcular intervalos dos prêmios corretamente")
     void deveCalcularIntervalosPremiosCorretamente() {
@@ -48,7 +99,7 @@ class MovieServiceTest {
             Arrays.asList(movie1, movie2, movie3, movie4, movie5)
         );
 
-        when(movieRepository.getMovieAwardsResult()).thenReturn(movieFlux);
+        when(movieRepository.getMovieAwardsResult()).thenReturn(winsOf(movieFlux));
 
         // When & Then
         StepVerifier.create(movieService.getMovieAwardsResult())
@@ -79,7 +130,7 @@ class MovieServiceTest {
 
         Flux<MovieEntity> movieFlux = Flux.fromIterable(Arrays.asList(movie1, movie2));
 
-        when(movieRepository.getMovieAwardsResult()).thenReturn(movieFlux);
+        when(movieRepository.getMovieAwardsResult()).thenReturn(winsOf(movieFlux));
 
         // When & Then
         StepVerifier.create(movieService.getMovieAwardsResult())
@@ -103,7 +154,7 @@ class MovieServiceTest {
 
         Flux<MovieEntity> movieFlux = Flux.fromIterable(Arrays.asList(movie1, movie2, movie3));
 
-        when(movieRepository.getMovieAwardsResult()).thenReturn(movieFlux);
+        when(movieRepository.getMovieAwardsResult()).thenReturn(winsOf(movieFlux));
 
         // When & Then
         StepVerifier.create(movieService.getMovieAwardsResult())
@@ -128,7 +179,7 @@ class MovieServiceTest {
             Arrays.asList(movie1, movie2, movie3, movie4)
         );
 
-        when(movieRepository.getMovieAwardsResult()).thenReturn(movieFlux);
+        when(movieRepository.getMovieAwardsResult()).thenReturn(winsOf(movieFlux));
 
         // When & Then
         StepVerifier.create(movieService.getMovieAwardsResult())
@@ -141,4 +192,490 @@ class MovieServiceTest {
             .verifyComplete();
     }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("Deve retornar os maiores e menores intervalos limitados ao tamanho pedido")
+    void deveRetornarMaioresEMenoresIntervalos() {
+        // Given
+        Flux<MovieEntity> movieFlux = Flux.just(
+            createMovie("Movie 1", 2000, "Producer A", true),
+            createMovie("Movie 2", 2001, "Producer A", true),
+            createMovie("Movie 3", 2004, "Producer A", true),
+            createMovie("Movie 4", 1990, "Producer B", true),
+            createMovie("Movie 5", 2003, "Producer B", true)
+        );
+
+        when(movieRepository.getMovieAwardsResult()).thenReturn(winsOf(movieFlux));
+
+        // When & Then
+        StepVerifier.create(movieService.getTopIntervals(2))
+            .assertNext(result -> {
+                assertEquals(List.of(1, 3), result.shortest().stream().map(MovieAwardsResultDTO::interval).toList());
+                assertEquals(List.of(13, 3), result.longest().stream().map(MovieAwardsResultDTO::interval).toList());
+                assertEquals("Producer B", result.longest().getFirst().producers());
+            })
+            .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Deve transmitir os intervalos filtrados e retomar a partir do cursor")
+    void deveTransmitirIntervalosERetomarDoCursor() {
+        // Given
+        Flux<MovieEntity> movieFlux = Flux.just(
+            createMovie("Movie 1", 2000, "Producer A", true),
+            createMovie("Movie 2", 2001, "Producer A", true),
+            createMovie("Movie 3", 2004, "Producer A", true),
+            createMovie("Movie 4", 1990, "Producer B", true),
+            createMovie("Movie 5", 2003, "Producer B", true)
+        );
+
+        when(movieRepository.getMovieAwardsResult()).thenReturn(winsOf(movieFlux));
+
+        // When
+        var all = movieService.streamIntervals(IntervalQuery.builder().build()).collectList().block();
+        var resumed = movieService.streamIntervals(IntervalQuery.builder().cursor(all.getFirst().cursor()).build())
+            .collectList().block();
+        var ranged = movieService.streamIntervals(IntervalQuery.builder().fromYear(2000).toYear(2003).build())
+            .collectList().block();
+
+        // Then
+        assertEquals(List.of(1, 3, 13), all.stream().map(ProducerIntervalDTO::interval).toList());
+        assertEquals(all.subList(1, 3), resumed);
+        assertEquals(List.of(1), ranged.stream().map(ProducerIntervalDTO::interval).toList());
+    }
+
+    @Test
+    @DisplayName("Deve repetir intervalos idênticos ao retomar a partir do cursor")
+    void deveRepetirIntervalosIdenticosAoRetomarDoCursor() {
+        // Given
+        Flux<MovieEntity> movieFlux = Flux.just(
+            createMovie("Movie 1", 2000, "Producer A", true),
+            createMovie("Movie 2", 2000, "Producer A", true),
+            createMovie("Movie 3", 2000, "Producer A", true),
+            createMovie("Movie 4", 2002, "Producer A", true)
+        );
+
+        when(movieRepository.getMovieAwardsResult()).thenReturn(winsOf(movieFlux));
+
+        // When
+        var all = movieService.streamIntervals(IntervalQuery.builder().producer("Producer A").build())
+            .collectList().block();
+        var resumed = movieService.streamIntervals(IntervalQuery.builder().cursor(all.getFirst().cursor()).build())
+            .collectList().block();
+
+        // Then
+        assertEquals(List.of(0, 0, 2), all.stream().map(ProducerIntervalDTO::interval).toList());
+        assertEquals(all.subList(1, 3), resumed);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar cursor inválido")
+    void deveRejeitarCursorInvalido() {
+        // Given
+        when(movieRepository.getMovieAwardsResult()).thenReturn(Flux.empty());
+
+        // When & Then
+        StepVerifier.create(movieService.streamIntervals(IntervalQuery.builder().cursor("nao-e-cursor").build()))
+            .expectError(IllegalArgumentException.class)
+            .verify();
+    }
+
+    @Test
+    @DisplayName("Deve calcular os percentis de intervalo por estúdio")
+    void deveCalcularPercentisPorEstudio() {
+        // Given
+        when(movieRepository.getProducerWinsWithStudios()).thenReturn(Flux.just(
+            new ProducerWinStudioDTO(0, 2000, "Studio A"),
+            new ProducerWinStudioDTO(0, 2001, "Studio A"),
+            new ProducerWinStudioDTO(0, 2005, "Studio A and Studio B"),
+            new ProducerWinStudioDTO(1, 1990, "Studio B"),
+            new ProducerWinStudioDTO(1, 2000, "Studio B")
+        ));
+
+        // When & Then
+        StepVerifier.create(movieService.getIntervalPercentiles(IntervalGrouping.STUDIO))
+            .assertNext(studioA -> {
+                assertEquals("Studio A", studioA.group());
+                assertEquals(2L, studioA.count());
+                assertEquals(1, studioA.p50());
+                assertEquals(4, studioA.p90());
+            })
+            .assertNext(studioB -> {
+                assertEquals("Studio B", studioB.group());
+                assertEquals(2L, studioB.count());
+                assertEquals(4, studioB.min());
+                assertEquals(10, studioB.max());
+            })
+            .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Deve inserir filmes em lote e atualizar o índice apenas com os novos vencedores")
+    void deveInserirFilmesEmLoteEAtualizarIndice() {
+        // Given
+        movieService.ingestionBatchSize = 2;
+        awardIntervalIndex.rebuild(List.of());
+
+        when(movieRepository.insertBatch(anyList()))
+            .thenAnswer(invocation -> Mono.just(invocation.<List<MovieEntity>>getArgument(0)));
+
+        Flux<MovieEntity> movies = Flux.just(
+            createMovie("Movie 1", 2000, "Producer A", true),
+            createMovie("Movie 2", 0, "Producer A", true),
+            createMovie("Movie 3", 2004, "Producer A and Producer B", true),
+            createMovie("Movie 4", 2005, "Producer B", false),
+            createMovie("Movie 5", 2007, "Producer B", true)
+        );
+
+        // When & Then
+        StepVerifier.create(movieService.insertMovies(movies))
+            .assertNext(result -> {
+                assertEquals(4L, result.inserted());
+                assertEquals(1L, result.rejected());
+            })
+            .verifyComplete();
+
+        verify(movieRepository, times(2)).insertBatch(anyList());
+        verify(movieRepository, never()).getMovieAwardsResult();
+        assertEquals(4.0, movieMetrics.ingestionRowsInserted.count());
+        assertEquals(1.0, movieMetrics.ingestionRowsRejected.count());
+        assertEquals(2, movieMetrics.ingestionBatch.count());
+
+        var result = awardIntervalIndex.getResult();
+        assertEquals("Producer B", result.min().getFirst().producers());
+        assertEquals(3, result.min().getFirst().interval());
+        assertEquals("Producer A", result.max().getFirst().producers());
+        assertEquals(4, result.max().getFirst().interval());
+    }
+
+    @Test
+    @DisplayName("Deve substituir as vitórias do filme atualizado no índice")
+    void deveSubstituirVitoriasDoFilmeAtualizado() {
+        // Given
+        var current = MovieEntity.builder().id(1L).years(2001).title("Movie 2").producers("Producer A").winner(true).build();
+        awardIntervalIndex.rebuild(List.of());
+        awardIntervalIndex.addAll(List.of(createMovie("Movie 1", 2000, "Producer A", true), current));
+
+        when(movieRepository.updateMovie(any())).thenAnswer(invocation -> Mono.just(
+            new MovieBatchRepository.MovieUpdate(current, invocation.getArgument(0))));
+
+        // When & Then
+        StepVerifier.create(movieService.updateMovie(1L, createMovie("Movie 2", 2010, "Producer A", true)))
+            .assertNext(updated -> assertEquals(1L, updated.id()))
+            .verifyComplete();
+
+        assertEquals(10, awardIntervalIndex.getResult().min().getFirst().interval());
+    }
+
+    @Test
+    @DisplayName("Deve retirar dos índices apenas o filme que o banco removeu")
+    void deveRetirarDosIndicesApenasFilmeRemovidoPeloBanco() {
+        // Given
+        var kept = MovieEntity.builder().id(1L).years(2000).title("Movie 1").producers("Producer A").winner(true).build();
+        var removed = MovieEntity.builder().id(2L).years(2001).title("Movie 2").producers("Producer A").winner(true)
+            .build();
+        awardIntervalIndex.rebuild(List.of());
+        awardIntervalIndex.addAll(List.of(kept, removed));
+        movieSearchIndex.addAll(List.of(kept, removed));
+
+        when(movieRepository.deleteMovie(2L)).thenReturn(Mono.just(removed));
+        when(movieRepository.deleteMovie(3L)).thenReturn(Mono.empty());
+
+        // When & Then
+        StepVerifier.create(movieService.deleteMovie(3L))
+            .verifyComplete();
+        StepVerifier.create(movieService.deleteMovie(2L))
+            .assertNext(movie -> assertEquals(2L, movie.id()))
+            .verifyComplete();
+
+        verify(movieRepository, never()).findById(any(Long.class));
+        assertTrue(awardIntervalIndex.getResult().min().isEmpty());
+        var winners = MovieSearchQuery.builder().winner(true).build();
+        assertArrayEquals(new int[] {1}, movieSearchIndex.search(winners, 10));
+    }
+
+    @Test
+    @DisplayName("Deve trocar os filmes removidos pelos incluídos no banco e nos índices em um único passo")
+    void deveTrocarFilmesRemovidosPelosIncluidos() {
+        // Given
+        movieService.ingestionBatchSize = 100;
+        var kept = MovieEntity.builder().id(1L).years(2000).title("Movie 1").producers("Producer A").winner(true).build();
+        var removed = MovieEntity.builder().id(2L).years(2001).title("Movie 2").producers("Producer A").winner(true).build();
+        awardIntervalIndex.rebuild(List.of());
+        awardIntervalIndex.addAll(List.of(kept, removed));
+        movieSearchIndex.addAll(List.of(kept, removed));
+        var version = awardIntervalIndex.getPublished().version();
+
+        var added = createMovie("Movie 3", 2010, "Producer A", true);
+        when(movieRepository.replaceBatch(List.of(2L), List.of(added), 100))
+            .thenReturn(Mono.just(new MovieBatchRepository.MovieReplace(List.of(removed), List.of(MovieEntity.builder()
+                .id(3L).years(2010).title("Movie 3").producers("Producer A").winner(true).build()))));
+
+        // When & Then
+        StepVerifier.create(movieService.replaceMovies(List.of(2L), List.of(added)))
+            .assertNext(saved -> assertEquals(3L, saved.getFirst().id()))
+            .verifyComplete();
+
+        assertEquals(version + 1, awardIntervalIndex.getPublished().version());
+        assertEquals(10, awardIntervalIndex.getResult().min().getFirst().interval());
+        var winners = MovieSearchQuery.builder().winner(true).build();
+        assertArrayEquals(new int[] {1, 3}, movieSearchIndex.search(winners, 10));
+    }
+
+    @Test
+    @DisplayName("Deve carregar o CSV em lotes e reconstruir o índice de intervalos")
+    void deveCarregarCsvEmLotesEReconstruirIndice() {
+        // Given
+        movieService.csvFilePath = "__files/movielist.csv";
+        movieService.csvFileSeparator = ';';
+        movieService.ingestionBatchSize = 100;
+        movieService.ingestionConcurrency = 2;
+        catalogSnapshotStore.enabled = false;
+
+        when(movieRepository.claimCatalogLoad(any())).thenReturn(Mono.just(MovieBatchRepository.CatalogLoadClaim.LOAD));
+        when(movieRepository.insertBatch(anyList()))
+            .thenAnswer(invocation -> Mono.just(invocation.<List<?>>getArgument(0)));
+        when(movieRepository.getMovieAwardsResult()).thenReturn(Flux.empty());
+        when(movieRepository.finishCatalogLoad(true)).thenReturn(Mono.empty());
+
+        // When & Then
+        StepVerifier.create(movieService.initDB())
+            .expectNext(206L)
+            .verifyComplete();
+
+        verify(movieRepository, times(3)).insertBatch(anyList());
+        verify(movieRepository, times(1)).getMovieAwardsResult();
+        verify(movieRepository).finishCatalogLoad(true);
+        assert awardIntervalIndex.isLoaded();
+    }
+
+    @Test
+    @DisplayName("Deve descartar a carga do CSV que falhar para que outra instância a refaça")
+    void deveDescartarCargaQueFalhar() {
+        // Given
+        movieService.csvFilePath = "__files/movielist.csv";
+        movieService.csvFileSeparator = ';';
+        movieService.ingestionBatchSize = 100;
+        movieService.ingestionConcurrency = 2;
+        catalogSnapshotStore.enabled = false;
+
+        when(movieRepository.claimCatalogLoad(any())).thenReturn(Mono.just(MovieBatchRepository.CatalogLoadClaim.LOAD));
+        when(movieRepository.insertBatch(anyList())).thenReturn(Mono.error(new IllegalStateException("falha")));
+        when(movieRepository.finishCatalogLoad(false)).thenReturn(Mono.empty());
+
+        // When & Then
+        StepVerifier.create(movieService.initDB())
+            .expectErrorMessage("falha")
+            .verify();
+
+        verify(movieRepository).finishCatalogLoad(false);
+        verify(movieRepository, never()).finishCatalogLoad(true);
+    }
+
+    @Test
+    @DisplayName("Deve aguardar a carga de outra instância e então reaproveitar o catálogo")
+    void deveAguardarCargaDeOutraInstancia() {
+        // Given
+        movieService.loadPollInterval = Duration.ofMillis(1);
+        when(movieRepository.claimCatalogLoad(any())).thenReturn(
+            Mono.just(MovieBatchRepository.CatalogLoadClaim.WAIT),
+            Mono.just(MovieBatchRepository.CatalogLoadClaim.RESTORE));
+        when(movieRepository.count()).thenReturn(Mono.just(206L));
+        when(movieRepository.getProducers()).thenReturn(Flux.empty());
+        when(movieRepository.getMovieAwardsResult()).thenReturn(Flux.empty());
+        when(movieRepository.findAll()).thenReturn(Flux.empty());
+
+        // When & Then
+        StepVerifier.create(movieService.initDB())
+            .expectNext(206L)
+            .verifyComplete();
+
+        verify(movieRepository, times(2)).claimCatalogLoad(any());
+        verify(movieRepository, never()).insertBatch(anyList());
+    }
+
+    @Test
+    @DisplayName("Deve reaproveitar o catálogo já presente no banco sem reler o CSV")
+    void deveReaproveitarCatalogoPresenteNoBanco() {
+        // Given
+        when(movieRepository.claimCatalogLoad(any()))
+            .thenReturn(Mono.just(MovieBatchRepository.CatalogLoadClaim.RESTORE));
+        when(movieRepository.count()).thenReturn(Mono.just(2L));
+        when(movieRepository.getProducers()).thenReturn(Flux.just(
+            new ProducerDTO(0, "Producer A"),
+            new ProducerDTO(1, "Producer B")));
+        when(movieRepository.getMovieAwardsResult()).thenReturn(Flux.just(
+            new ProducerWinDTO(1, 1990),
+            new ProducerWinDTO(1, 2003)));
+        when(movieRepository.findAll()).thenReturn(Flux.just(
+            MovieEntity.builder().id(7L).years(2003).title("Movie 7").producers("Producer B").winner(true).build()));
+
+        // When & Then
+        StepVerifier.create(movieService.initDB())
+            .expectNext(2L)
+            .verifyComplete();
+
+        verify(movieRepository, never()).insertBatch(anyList());
+        assertEquals(1, producerDictionary.idOf("Producer B"));
+        assertThrows(IllegalStateException.class, () -> producerDictionary.idsOf("Producer D"));
+        assertEquals("Producer B", awardIntervalIndex.getResult().max().getFirst().producers());
+        var restored = movieSearchIndex.search(MovieSearchQuery.builder().title("movie 7").build(), 10);
+        assertArrayEquals(new int[] {7}, restored);
+    }
+
+    @Test
+    @DisplayName("Deve calcular o resultado no banco e só avançar a versão quando ele muda")
+    void deveCalcularResultadoNoBanco() {
+        // Given
+        movieService.awardsSource = MovieService.AwardsSource.DATABASE;
+        var min = new AwardIntervalExtremeDTO("min", "Producer A", 2000, 2001);
+        var max = new AwardIntervalExtremeDTO("max", "Producer B", 1990, 2003);
+        when(movieRepository.getAwardIntervalExtremes())
+            .thenReturn(Flux.just(min, max), Flux.just(min, max), Flux.just(min));
+
+        // When
+        var first = movieService.getPublishedAwardsResult().block();
+        var second = movieService.getPublishedAwardsResult().block();
+        var third = movieService.getPublishedAwardsResult().block();
+
+        // Then
+        assertEquals(1, first.result().min().getFirst().interval());
+        assertEquals(13, first.result().max().getFirst().interval());
+        assertSame(first, second);
+        assertEquals(2, third.version());
+        assertTrue(third.result().max().isEmpty());
+        verify(movieRepository, never()).getMovieAwardsResult();
+    }
+
+    @Test
+    @DisplayName("Deve executar uma única leitura do banco para requisições concorrentes com o índice frio")
+    void deveCompartilharLeituraEntreRequisicoesConcorrentes() {
+        // Given
+        Flux<MovieEntity> movieFlux = Flux.just(
+            createMovie("Movie 1", 2000, "Producer A", true),
+            createMovie("Movie 2", 2001, "Producer A", true));
+        when(movieRepository.getMovieAwardsResult())
+            .thenReturn(winsOf(movieFlux).delaySubscription(Duration.ofMillis(100)));
+
+        // When
+        var results = Flux.range(0, 64)
+            .parallel(8)
+            .runOn(Schedulers.parallel())
+            .flatMap(i -> movieService.getMovieAwardsResult())
+            .sequential()
+            .collectList()
+            .block();
+
+        // Then
+        assertEquals(64, results.size());
+        assertTrue(results.stream().allMatch(result -> result.min().getFirst().interval() == 1));
+        verify(movieRepository, times(1)).getMovieAwardsResult();
+    }
+
+    @Test
+    @DisplayName("Deve propagar a falha da leitura a todas as requisições concorrentes e tentar de novo depois")
+    void devePropagarFalhaATodasAsRequisicoesETentarDeNovo() {
+        // Given
+        when(movieRepository.getMovieAwardsResult())
+            .thenReturn(Flux.<ProducerWinDTO>error(new IllegalStateException("falha"))
+                .delaySubscription(Duration.ofMillis(100)))
+            .thenReturn(Flux.just(new ProducerWinDTO(producerDictionary.idsOf("Producer A")[0], 2000)));
+
+        // When
+        var failures = Flux.range(0, 16)
+            .flatMap(i -> movieService.getMovieAwardsResult()
+                .map(result -> "ok")
+                .onErrorResume(IllegalStateException.class, error -> Mono.just(error.getMessage())))
+            .collectList()
+            .block();
+
+        // Then
+        assertEquals(16, failures.size());
+        assertTrue(failures.stream().allMatch("falha"::equals));
+        verify(movieRepository, times(1)).getMovieAwardsResult();
+
+        StepVerifier.create(movieService.getMovieAwardsResult())
+            .expectNextCount(1)
+            .verifyComplete();
+        verify(movieRepository, times(2)).getMovieAwardsResult();
+    }
+
+    @Test
+    @DisplayName("Deve encerrar a leitura do índice que excede o tempo limite")
+    void deveEncerrarLeituraQueExcedeTempoLimite() {
+        // Given
+        movieService.awardsLoadTimeout = Duration.ofMillis(50);
+        when(movieRepository.getMovieAwardsResult()).thenReturn(Flux.never());
+
+        // When & Then
+        StepVerifier.create(movieService.getMovieAwardsResult())
+            .expectError(TimeoutException.class)
+            .verify(Duration.ofSeconds(5));
+        assertFalse(awardIntervalIndex.isLoaded());
+    }
+
+    @Test
+    @DisplayName("Deve buscar filmes pelo índice invertido e ler do banco apenas os encontrados")
+    void deveBuscarFilmesPeloIndiceInvertido() {
+        // Given
+        var movies = List.of(
+            MovieEntity.builder().id(1L).years(1980).title("Can't Stop the Music")
+                .studios("Associated Film Distribution").producers("Allan Carr").winner(true).build(),
+            MovieEntity.builder().id(2L).years(1980).title("Cruising").studios("Lorimar Productions, United Artists")
+                .producers("Jerry Weintraub").winner(false).build(),
+            MovieEntity.builder().id(3L).years(1981).title("Stop the Music Again").studios("United Artists")
+                .producers("Allan Carr and Jerry Weintraub").winner(false).build());
+        movieSearchIndex.addAll(movies);
+        when(movieRepository.findAllById(anyIterable()))
+            .thenAnswer(invocation -> Flux.fromIterable(invocation.<Iterable<Long>>getArgument(0))
+                .map(id -> movies.get((int) (id - 1)))
+                .sort((first, second) -> Long.compare(second.id(), first.id())));
+
+        // When & Then
+        StepVerifier.create(movieService.searchMovies(MovieSearchQuery.builder().title("the MUSIC").build(), 10))
+            .assertNext(movie -> assertEquals(1L, movie.id()))
+            .assertNext(movie -> assertEquals(3L, movie.id()))
+            .verifyComplete();
+        StepVerifier.create(movieService.searchMovies(MovieSearchQuery.builder()
+                .studio("united artists")
+                .producer("Jerry Weintraub")
+                .winner(false)
+                .afterId(2L)
+                .build(), 10))
+            .assertNext(movie -> assertEquals(3L, movie.id()))
+            .verifyComplete();
+        StepVerifier.create(movieService.searchMovies(MovieSearchQuery.builder().year(1990).build(), 10))
+            .verifyComplete();
+        StepVerifier.create(movieService.searchMovies(MovieSearchQuery.builder().build(), 10))
+            .expectError(IllegalArgumentException.class)
+            .verify();
+
+        movieSearchIndex.remove(movies.getFirst());
+        var music = MovieSearchQuery.builder().title("music").build();
+        assertArrayEquals(new int[] {3}, movieSearchIndex.search(music, 10));
+        assertArrayEquals(new int[] {2}, movieSearchIndex.search(MovieSearchQuery.builder().year(1980).build(), 10));
+        verify(movieRepository, times(2)).findAllById(anyIterable());
+    }
+
+    @Test
+    @DisplayName("Deve retornar as vitórias e os intervalos de um produtor")
+    void deveRetornarVitoriasEIntervalosDoProdutor() {
+        // Given
+        Flux<MovieEntity> movieFlux = Flux.just(
+            createMovie("Movie 1", 2000, "Producer A", true),
+            createMovie("Movie 2", 2008, "Producer A and Producer B", true),
+            createMovie("Movie 3", 2001, "Producer A", true));
+        when(movieRepository.getMovieAwardsResult()).thenReturn(winsOf(movieFlux));
+
+        // When & Then
+        StepVerifier.create(movieService.getProducerAwards("Producer A"))
+            .assertNext(awards -> {
+                assertEquals(List.of(2000, 2001, 2008), awards.wins());
+                assertEquals(List.of(1, 7), awards.intervals().stream()
+                    .map(MovieAwardsResultDTO::interval)
+                    .toList());
+            })
+            .verifyComplete();
+        StepVerifier.create(movieService.getProducerAwards("Producer Z"))
+            .verifyComplete();
+    }
+}
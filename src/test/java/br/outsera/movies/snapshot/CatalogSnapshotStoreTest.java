@@ -0,0 +1,125 @@
+package br.outsera.movies.snapshot;
+
+import br.outsera.movies.model.MovieEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CatalogSnapshotStore Tests")
+class CatalogSnapshotStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private CatalogSnapshotStore catalogSnapshotStore;
+    private FileSystemResource source;
+    private AtomicInteger parses;
+
+    private final List<MovieEntity> movies = List.of(
+        MovieEntity.builder().years(1980).title("Movie A").studios("Studio A").producers("Producer A").winner(true).build(),
+        MovieEntity.builder().years(1981).title("Movie B").studios("Studio A").producers("Producer B").winner(false).build()
+    );
+
+    @BeforeEach
+    void setUp() throws IOException {
+        var csv = directory.resolve("movielist.csv");
+        Files.writeString(csv, "year;title;studios;producers;winner\n");
+        source = new FileSystemResource(csv);
+
+        catalogSnapshotStore = new CatalogSnapshotStore();
+        catalogSnapshotStore.enabled = true;
+        catalogSnapshotStore.path = directory.resolve("catalog.snapshot").toString();
+        catalogSnapshotStore.strict = false;
+        parses = new AtomicInteger();
+    }
+
+    private Flux<MovieEntity> parse() {
+        parses.incrementAndGet();
+        return Flux.fromIterable(movies);
+    }
+
+    @Test
+    @DisplayName("Deve gravar o snapshot na primeira carga e reutilizá-lo na seguinte")
+    void deveGravarEReutilizarSnapshot() {
+        var first = catalogSnapshotStore.load(source, ';', this::parse).collectList().block();
+        var second = catalogSnapshotStore.load(source, ';', this::parse).collectList().block();
+
+        assertEquals(movies, first);
+        assertEquals(movies, second);
+        assertEquals(1, parses.get());
+        assertTrue(Files.exists(Path.of(catalogSnapshotStore.path)));
+    }
+
+    @Test
+    @DisplayName("Deve recarregar o CSV quando o snapshot estiver desatualizado")
+    void deveRecarregarQuandoSnapshotDesatualizado() throws IOException {
+        catalogSnapshotStore.load(source, ';', this::parse).blockLast();
+        Files.writeString(source.getFile().toPath(), "year;title;studios;producers;winner\n1990;X;Y;Z;\n");
+
+        catalogSnapshotStore.load(source, ';', this::parse).blockLast();
+
+        assertEquals(2, parses.get());
+    }
+
+    @Test
+    @DisplayName("Deve recarregar o CSV quando o checksum do snapshot não confere")
+    void deveRecarregarQuandoChecksumNaoConfere() throws IOException {
+        catalogSnapshotStore.load(source, ';', this::parse).blockLast();
+        var snapshot = Path.of(catalogSnapshotStore.path);
+        var bytes = Files.readAllBytes(snapshot);
+        bytes[bytes.length / 2] ^= 0x01;
+        Files.write(snapshot, bytes);
+
+        var movies = catalogSnapshotStore.load(source, ';', this::parse).collectList().block();
+
+        assertEquals(this.movies, movies);
+        assertEquals(2, parses.get());
+    }
+
+    @Test
+    @DisplayName("Deve comparar o conteúdo do CSV apenas no modo estrito")
+    void deveCompararConteudoApenasNoModoEstrito() throws IOException {
+        catalogSnapshotStore.load(source, ';', this::parse).blockLast();
+        var csv = source.getFile().toPath();
+        var lastModified = Files.getLastModifiedTime(csv);
+        Files.writeString(csv, "YEAR;TITLE;STUDIOS;PRODUCERS;WINNER\n");
+        Files.setLastModifiedTime(csv, lastModified);
+
+        catalogSnapshotStore.load(source, ';', this::parse).blockLast();
+        assertEquals(1, parses.get());
+
+        catalogSnapshotStore.strict = true;
+        catalogSnapshotStore.load(source, ';', this::parse).blockLast();
+        catalogSnapshotStore.load(source, ';', this::parse).blockLast();
+        assertEquals(2, parses.get());
+    }
+
+    @Test
+    @DisplayName("Deve gravar cada texto repetido uma única vez no snapshot")
+    void deveGravarTextoRepetidoUmaUnicaVez() throws IOException {
+        var repeated = IntStream.range(0, 1_000)
+            .mapToObj(i -> MovieEntity.builder().years(1980 + i % 40).title("Movie " + i % 10)
+                .studios(i % 7 == 0 ? null : "Studio " + i % 3).producers("Producer " + i % 5)
+                .winner(i % 3 == 0).build())
+            .toList();
+
+        catalogSnapshotStore.load(source, ';', () -> Flux.fromIterable(repeated)).blockLast();
+        var loaded = catalogSnapshotStore.load(source, ';', this::parse).collectList().block();
+
+        assertEquals(repeated, loaded);
+        assertEquals(0, parses.get());
+        assertTrue(Files.size(Path.of(catalogSnapshotStore.path)) < repeated.size() * (Integer.BYTES * 4 + 1));
+    }
+}